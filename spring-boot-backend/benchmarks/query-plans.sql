@@ -0,0 +1,150 @@
+-- Benchmark rencana query sebelum dan sesudah migrasi V2__covering_indexes.
+--
+-- Jalankan dari folder spring-boot-backend (perintah SOURCE memakai path relatif), MySQL 8.0.18+:
+--   mysql -u root -p < benchmarks/query-plans.sql > benchmarks/query-plans.out
+--
+-- Skrip membuat database terpisah budget_tracker_bench, mengisi ~2.000 user dan ~1.000.000 transaksi,
+-- lalu menjalankan EXPLAIN ANALYZE untuk setiap bentuk query yang sering dipakai: sekali hanya dengan
+-- index bawaan (PK + FK, sama seperti hasil ddl-auto) dan sekali setelah V2 diterapkan.
+
+DROP DATABASE IF EXISTS budget_tracker_bench;
+CREATE DATABASE budget_tracker_bench;
+USE budget_tracker_bench;
+
+SOURCE src/main/resources/db/migration/V1__baseline_schema.sql;
+
+-- ---------------------------------------------------------------------------
+-- Seed
+-- ---------------------------------------------------------------------------
+CREATE TABLE seq (n INT NOT NULL PRIMARY KEY);
+INSERT INTO seq (n) VALUES (0), (1), (2), (3), (4), (5), (6), (7), (8), (9);
+INSERT INTO seq (n) SELECT a.n + 10 * b.n FROM seq a CROSS JOIN seq b WHERE a.n + 10 * b.n >= 10;
+INSERT INTO seq (n) SELECT a.n + 100 * b.n FROM seq a CROSS JOIN seq b WHERE b.n BETWEEN 1 AND 9 AND a.n < 100;
+-- seq sekarang 0..999
+
+INSERT INTO categories (name, description, type, created_at, updated_at)
+SELECT CONCAT('Kategori ', n), NULL, IF(n < 2, 'INCOME', 'EXPENSE'), NOW(), NOW()
+FROM seq WHERE n < 8;
+
+INSERT INTO users (uuid, name, email, password, created_at, updated_at)
+SELECT UUID_TO_BIN(UUID()), CONCAT('User ', a.n * 1000 + b.n), CONCAT('user', a.n * 1000 + b.n, '@bench.local'),
+       'x', NOW(), NOW()
+FROM seq a CROSS JOIN seq b WHERE a.n < 2;
+
+-- 500 transaksi per user tersebar di 3 tahun terakhir
+INSERT INTO transactions (type, amount, amount_value, date, note, user_id, category_id, created_at, updated_at)
+SELECT IF(MOD(s.n, 10) = 0, 'INCOME', 'EXPENSE'),
+       CAST(10000 + MOD(s.n * 7919, 990000) AS CHAR),
+       10000 + MOD(s.n * 7919, 990000),
+       CURDATE() - INTERVAL MOD(s.n * 31 + u.id, 1095) DAY,
+       CONCAT('catatan belanja ', MOD(s.n, 97)),
+       u.id,
+       IF(MOD(s.n, 10) = 0, 1 + MOD(s.n, 2), 3 + MOD(s.n, 6)),
+       NOW(), NOW()
+FROM users u CROSS JOIN seq s WHERE s.n < 500;
+
+INSERT INTO budgets (user_id, category_id, amount, period, period_start, period_end, description, is_active, created_at, updated_at)
+SELECT u.id, 3 + MOD(s.n, 6), 1500000, 'MONTHLY',
+       DATE_FORMAT(CURDATE() - INTERVAL s.n MONTH, '%Y-%m-01'),
+       LAST_DAY(CURDATE() - INTERVAL s.n MONTH),
+       NULL, s.n < 3, NOW(), NOW()
+FROM users u CROSS JOIN seq s WHERE s.n < 24;
+
+INSERT INTO financial_goals (user_id, name, target_amount, current_amount, deadline, type, status, created_at, updated_at)
+SELECT u.id, CONCAT('Goal ', s.n), 10000000, 0, CURDATE() + INTERVAL (s.n * 30 - 300) DAY, 'SAVINGS',
+       ELT(1 + MOD(s.n, 4), 'ACTIVE', 'COMPLETED', 'PAUSED', 'CANCELLED'), NOW(), NOW()
+FROM users u CROSS JOIN seq s WHERE s.n < 20;
+
+INSERT INTO monthly_summaries (user_id, month, year, total_income, total_expense, balance, created_at, updated_at)
+SELECT u.id, 'Januari', '2025', '0', '0', '0', NOW() - INTERVAL s.n DAY, NOW()
+FROM users u CROSS JOIN seq s WHERE s.n < 100;
+
+ANALYZE TABLE transactions, budgets, financial_goals, monthly_summaries;
+
+SET @user_id = 1042;
+SET @month_start = DATE_FORMAT(CURDATE(), '%Y-%m-01');
+SET @month_end = LAST_DAY(CURDATE());
+-- Posisi cursor kira-kira di tengah riwayat user
+SELECT t.date, t.id INTO @cursor_date, @cursor_id
+FROM transactions t
+WHERE t.user_id = @user_id
+ORDER BY t.date DESC, t.id DESC
+LIMIT 1 OFFSET 250;
+
+-- ---------------------------------------------------------------------------
+-- Query yang dibandingkan (dijalankan dua kali: sebelum dan sesudah V2)
+-- ---------------------------------------------------------------------------
+DROP PROCEDURE IF EXISTS explain_hot_queries;
+DELIMITER //
+CREATE PROCEDURE explain_hot_queries(IN label VARCHAR(20))
+BEGIN
+    SELECT CONCAT('==== ', label, ' ====') AS run;
+
+    -- TransactionRepository.sumByTypeBetween (stats harian/bulanan)
+    EXPLAIN ANALYZE
+    SELECT t.type, SUM(COALESCE(t.amount_value, CAST(t.amount AS DECIMAL(15, 2)))), COUNT(*)
+    FROM transactions t
+    WHERE t.user_id = @user_id AND t.date BETWEEN @month_start AND @month_end
+    GROUP BY t.type;
+
+    -- Sama, setelah backfill selesai (tanpa fallback ke kolom VARCHAR): sepenuhnya dari index
+    EXPLAIN ANALYZE
+    SELECT t.type, SUM(t.amount_value), COUNT(*)
+    FROM transactions t
+    WHERE t.user_id = @user_id AND t.date BETWEEN @month_start AND @month_end
+    GROUP BY t.type;
+
+    -- TransactionRepository.findFirstPageByUserId (mode cursor). Setelah V2 rencana yang diharapkan:
+    -- "Index lookup on t using idx_transactions_user_date_id (reverse)" dengan "Limit: 11 row(s)"
+    -- dan tanpa "Sort", jadi baris yang dibaca sekitar 11, bukan seluruh transaksi user
+    EXPLAIN ANALYZE
+    SELECT t.id, t.date, t.type, t.amount_value, t.note, t.category_id
+    FROM transactions t
+    WHERE t.user_id = @user_id
+    ORDER BY t.date DESC, t.id DESC
+    LIMIT 11;
+
+    -- TransactionRepository.findPageByUserIdAfter (halaman berikutnya, cursor di tengah riwayat)
+    EXPLAIN ANALYZE
+    SELECT t.id, t.date, t.type, t.amount_value, t.note, t.category_id
+    FROM transactions t
+    WHERE t.user_id = @user_id
+    AND (t.date < @cursor_date OR (t.date = @cursor_date AND t.id < @cursor_id))
+    ORDER BY t.date DESC, t.id DESC
+    LIMIT 11;
+
+    -- LedgerAggregateRepository.rebuildAll untuk satu user
+    EXPLAIN ANALYZE
+    SELECT t.user_id, t.date, t.type, t.category_id, SUM(t.amount_value), COUNT(*)
+    FROM transactions t
+    WHERE t.user_id = @user_id
+    GROUP BY t.user_id, t.date, t.type, t.category_id;
+
+    -- BudgetRepository.findActiveBudgetsByUserIdAndDate
+    EXPLAIN ANALYZE
+    SELECT b.id
+    FROM budgets b
+    WHERE b.user_id = @user_id AND b.is_active = 1 AND b.period_start <= CURDATE()
+    AND (b.period_end IS NULL OR b.period_end >= CURDATE());
+
+    -- FinancialGoalRepository.findActiveGoalsByUserId
+    EXPLAIN ANALYZE
+    SELECT g.id
+    FROM financial_goals g
+    WHERE g.user_id = @user_id AND g.status = 'ACTIVE' AND g.deadline >= CURDATE()
+    ORDER BY g.deadline;
+
+    -- MonthlySummaryRepository.countByUserIdAndCreatedAtBetween
+    EXPLAIN ANALYZE
+    SELECT COUNT(*)
+    FROM monthly_summaries m
+    WHERE m.user_id = @user_id AND m.created_at >= CURDATE() AND m.created_at <= NOW();
+END //
+DELIMITER ;
+
+CALL explain_hot_queries('before V2');
+
+SOURCE src/main/resources/db/migration/V2__covering_indexes.sql;
+ANALYZE TABLE transactions, budgets, financial_goals, monthly_summaries;
+
+CALL explain_hot_queries('after V2');
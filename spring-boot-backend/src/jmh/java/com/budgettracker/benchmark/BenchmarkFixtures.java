@@ -0,0 +1,255 @@
+package com.budgettracker.benchmark;
+
+import com.budgettracker.entity.Budget;
+import com.budgettracker.entity.Category;
+import com.budgettracker.entity.FinancialGoal;
+import com.budgettracker.entity.Transaction;
+import com.budgettracker.entity.User;
+import com.budgettracker.repository.projection.CategoryDailyTotal;
+import com.budgettracker.repository.projection.DailyTypeTotal;
+import com.budgettracker.repository.projection.TypeTotal;
+import org.mockito.Mockito;
+
+import java.lang.reflect.Constructor;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+// Data sintetis untuk benchmark; seed tetap supaya hasil antar run bisa dibandingkan
+final class BenchmarkFixtures {
+
+    static final int USER_ID = 1;
+    static final int CATEGORY_COUNT = 12;
+
+    private BenchmarkFixtures() {
+    }
+
+    static User user() {
+        return User.builder()
+                .id(USER_ID)
+                .name("Benchmark User")
+                .email("bench@example.com")
+                .number("081234567890")
+                .profilePicture("avatar.png")
+                .createdAt(LocalDateTime.of(2024, 1, 1, 0, 0))
+                .updatedAt(LocalDateTime.of(2024, 1, 1, 0, 0))
+                .build();
+    }
+
+    static List<Category> categories() {
+        List<Category> categories = new ArrayList<>(CATEGORY_COUNT);
+        for (int i = 1; i <= CATEGORY_COUNT; i++) {
+            categories.add(Category.builder()
+                    .id(i)
+                    .name("Kategori " + i)
+                    .description("Kategori benchmark " + i)
+                    .type(i % 4 == 0 ? Category.CategoryType.INCOME : Category.CategoryType.EXPENSE)
+                    .createdAt(LocalDateTime.of(2024, 1, 1, 0, 0))
+                    .updatedAt(LocalDateTime.of(2024, 1, 1, 0, 0))
+                    .build());
+        }
+        return categories;
+    }
+
+    // Transaksi tersebar merata di dalam bulan yang diberikan; ~25% income
+    static List<Transaction> transactions(int count, YearMonth month) {
+        Random random = new Random(42);
+        User user = user();
+        List<Category> categories = categories();
+        List<Transaction> transactions = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            boolean income = random.nextInt(4) == 0;
+            LocalDate date = month.atDay(1 + random.nextInt(month.lengthOfMonth()));
+            transactions.add(Transaction.builder()
+                    .id(i)
+                    .type(income ? Transaction.TransactionType.INCOME : Transaction.TransactionType.EXPENSE)
+                    .amount(BigDecimal.valueOf(1_000 + random.nextInt(5_000_000), 2))
+                    .date(date)
+                    .note("Transaksi " + i)
+                    .user(user)
+                    .category(categories.get(random.nextInt(categories.size())))
+                    .createdAt(date.atStartOfDay())
+                    .updatedAt(date.atStartOfDay())
+                    .build());
+        }
+        return transactions;
+    }
+
+    // Baris ledger (GROUP BY tipe) seperti hasil LedgerAggregateRepository.sumByTypeBetween
+    static List<TypeTotal> typeTotals(List<Transaction> transactions) {
+        Map<Transaction.TransactionType, BigDecimal> totals = new TreeMap<>();
+        Map<Transaction.TransactionType, Long> counts = new TreeMap<>();
+        for (Transaction tx : transactions) {
+            totals.merge(tx.getType(), tx.getAmount(), BigDecimal::add);
+            counts.merge(tx.getType(), 1L, Long::sum);
+        }
+        List<TypeTotal> rows = new ArrayList<>();
+        totals.forEach((type, total) -> rows.add(new TypeRow(type, total, counts.get(type))));
+        return rows;
+    }
+
+    // Baris ledger (GROUP BY tanggal, tipe) seperti hasil sumByDayAndTypeBetween
+    static List<DailyTypeTotal> dailyTypeTotals(List<Transaction> transactions) {
+        Map<LocalDate, Map<Transaction.TransactionType, BigDecimal>> totals = new TreeMap<>();
+        for (Transaction tx : transactions) {
+            totals.computeIfAbsent(tx.getDate(), date -> new TreeMap<>())
+                    .merge(tx.getType(), tx.getAmount(), BigDecimal::add);
+        }
+        List<DailyTypeTotal> rows = new ArrayList<>();
+        totals.forEach((date, byType) -> byType.forEach((type, total) -> rows.add(new DailyRow(date, type, total))));
+        return rows;
+    }
+
+    // Baris ledger (GROUP BY kategori, tanggal) seperti hasil sumByCategoryAndDayBetween
+    static List<CategoryDailyTotal> categoryDailyTotals(List<Transaction> transactions) {
+        Map<LocalDate, Map<Integer, BigDecimal>> totals = new TreeMap<>();
+        for (Transaction tx : transactions) {
+            if (tx.getType() == Transaction.TransactionType.EXPENSE) {
+                totals.computeIfAbsent(tx.getDate(), date -> new TreeMap<>())
+                        .merge(tx.getCategory().getId(), tx.getAmount(), BigDecimal::add);
+            }
+        }
+        List<CategoryDailyTotal> rows = new ArrayList<>();
+        totals.forEach((date, byCategory) -> byCategory.forEach((categoryId, total) ->
+                rows.add(new CategoryDailyRow(categoryId, date, total))));
+        return rows;
+    }
+
+    static List<Budget> budgets(int count, YearMonth month) {
+        User user = user();
+        List<Category> categories = categories();
+        List<Budget> budgets = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            // Budget pertama tanpa kategori (semua pengeluaran), sisanya per kategori
+            Category category = i == 1 ? null : categories.get(i % categories.size());
+            LocalDate start = month.atDay(1 + (i % 7));
+            budgets.add(Budget.builder()
+                    .id(i)
+                    .user(user)
+                    .category(category)
+                    .amount(BigDecimal.valueOf(250_000_000L + i * 1_000_000L, 2))
+                    .period("MONTHLY")
+                    .periodStart(start)
+                    .periodEnd(month.atEndOfMonth())
+                    .description("Budget " + i)
+                    .isActive(true)
+                    .createdAt(start.atStartOfDay())
+                    .updatedAt(start.atStartOfDay())
+                    .build());
+        }
+        return budgets;
+    }
+
+    static List<FinancialGoal> goals(int count) {
+        User user = user();
+        List<FinancialGoal> goals = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            goals.add(FinancialGoal.builder()
+                    .id(i)
+                    .user(user)
+                    .name("Goal " + i)
+                    .targetAmount(BigDecimal.valueOf(1_000_000_000L * i, 2))
+                    .currentAmount(BigDecimal.valueOf(5_000_000L * i, 2))
+                    .deadline(LocalDate.now().plusYears(1))
+                    .type(FinancialGoal.GoalType.values()[i % FinancialGoal.GoalType.values().length])
+                    .status(FinancialGoal.GoalStatus.ACTIVE)
+                    .build());
+        }
+        return goals;
+    }
+
+    // Membuat service lewat satu-satunya constructor (@RequiredArgsConstructor); parameter yang
+    // tidak diberikan diisi mock Mockito, jadi benchmark tidak perlu ikut berubah tiap ada dependency baru
+    @SuppressWarnings("unchecked")
+    static <T> T newService(Class<T> type, Object... collaborators) {
+        Constructor<?>[] constructors = type.getDeclaredConstructors();
+        if (constructors.length != 1) {
+            throw new IllegalStateException(type.getSimpleName() + " harus punya tepat satu constructor");
+        }
+        Constructor<?> constructor = constructors[0];
+        Class<?>[] parameterTypes = constructor.getParameterTypes();
+        Object[] arguments = new Object[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            arguments[i] = findCollaborator(parameterTypes[i], collaborators);
+        }
+        try {
+            constructor.setAccessible(true);
+            return (T) constructor.newInstance(arguments);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Gagal membuat " + type.getSimpleName(), e);
+        }
+    }
+
+    private static Object findCollaborator(Class<?> parameterType, Object[] collaborators) {
+        for (Object collaborator : collaborators) {
+            if (parameterType.isInstance(collaborator)) {
+                return collaborator;
+            }
+        }
+        return stub(parameterType);
+    }
+
+    // Mock stubOnly tidak merekam invocation, jadi memori tidak tumbuh selama jutaan iterasi
+    static <T> T stub(Class<T> type) {
+        return Mockito.mock(type, Mockito.withSettings().stubOnly());
+    }
+
+    private record TypeRow(Transaction.TransactionType type, BigDecimal total, Long txCount) implements TypeTotal {
+        @Override
+        public Transaction.TransactionType getType() {
+            return type;
+        }
+
+        @Override
+        public BigDecimal getTotal() {
+            return total;
+        }
+
+        @Override
+        public Long getTxCount() {
+            return txCount;
+        }
+    }
+
+    private record DailyRow(LocalDate entryDate, Transaction.TransactionType type, BigDecimal total)
+            implements DailyTypeTotal {
+        @Override
+        public LocalDate getEntryDate() {
+            return entryDate;
+        }
+
+        @Override
+        public Transaction.TransactionType getType() {
+            return type;
+        }
+
+        @Override
+        public BigDecimal getTotal() {
+            return total;
+        }
+    }
+
+    private record CategoryDailyRow(Integer categoryId, LocalDate entryDate, BigDecimal total)
+            implements CategoryDailyTotal {
+        @Override
+        public Integer getCategoryId() {
+            return categoryId;
+        }
+
+        @Override
+        public LocalDate getEntryDate() {
+            return entryDate;
+        }
+
+        @Override
+        public BigDecimal getTotal() {
+            return total;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.budgettracker.benchmark;
+
+import com.budgettracker.entity.Budget;
+import com.budgettracker.entity.Transaction;
+import com.budgettracker.mapper.BudgetMapper;
+import com.budgettracker.mapper.CategoryMapper;
+import com.budgettracker.mapper.TransactionMapper;
+import com.budgettracker.mapper.UserMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Mapping entity -> response untuk list transaksi (1k-1M baris) dan hitungan BigDecimal di BudgetMapper
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class MapperBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private TransactionMapper transactionMapper;
+    private BudgetMapper budgetMapper;
+    private List<Transaction> transactions;
+    private List<Budget> budgets;
+    private List<BigDecimal> spentAmounts;
+
+    @Setup
+    public void setUp() {
+        UserMapper userMapper = new UserMapper();
+        ReflectionTestUtils.setField(userMapper, "profilePictureUrlPrefix", "/api/v1/users/profile/picture");
+        transactionMapper = new TransactionMapper();
+        ReflectionTestUtils.setField(transactionMapper, "categoryMapper", new CategoryMapper());
+        ReflectionTestUtils.setField(transactionMapper, "userMapper", userMapper);
+        budgetMapper = new BudgetMapper();
+
+        transactions = BenchmarkFixtures.transactions(size, YearMonth.now());
+
+        // Satu budget per 100 transaksi, spent dibuat bervariasi supaya cabang persentase/overBudget ikut jalan
+        int budgetCount = Math.max(1, size / 100);
+        budgets = BenchmarkFixtures.budgets(budgetCount, YearMonth.now());
+        spentAmounts = new ArrayList<>(budgetCount);
+        for (int i = 0; i < budgetCount; i++) {
+            Budget budget = budgets.get(i);
+            spentAmounts.add(budget.getAmount().multiply(BigDecimal.valueOf(i % 150, 2)));
+        }
+    }
+
+    @Benchmark
+    public void transactionToResponse(Blackhole blackhole) {
+        for (Transaction transaction : transactions) {
+            blackhole.consume(transactionMapper.toResponse(transaction));
+        }
+    }
+
+    @Benchmark
+    public void budgetToResponse(Blackhole blackhole) {
+        for (int i = 0; i < budgets.size(); i++) {
+            blackhole.consume(budgetMapper.toResponse(budgets.get(i), spentAmounts.get(i)));
+        }
+    }
+}
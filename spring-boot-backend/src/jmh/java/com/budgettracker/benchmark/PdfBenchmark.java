@@ -0,0 +1,83 @@
+package com.budgettracker.benchmark;
+
+import com.budgettracker.entity.MonthlySummary;
+import com.budgettracker.service.impl.PDFExportServiceImpl;
+import com.itextpdf.html2pdf.HtmlConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+// Render HTML -> PDF untuk satu summary bulanan; recommendations = jumlah baris rekomendasi AI.
+// defaultConverter = cara lama (HtmlConverter tanpa ConverterProperties, font dicari ulang tiap PDF) sebagai acuan.
+// Jalankan dengan -prof gc untuk melihat alokasi per PDF (gc.alloc.rate.norm).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PdfBenchmark {
+
+    @Param({"3", "30"})
+    private int recommendations;
+
+    private PDFExportServiceImpl pdfExportService;
+    private MonthlySummary summary;
+
+    @Setup
+    public void setUp() {
+        pdfExportService = BenchmarkFixtures.newService(PDFExportServiceImpl.class, "");
+
+        StringBuilder recommendationText = new StringBuilder();
+        for (int i = 1; i <= recommendations; i++) {
+            recommendationText.append("Kurangi pengeluaran kategori ").append(i)
+                    .append(" sebesar 10% dan alokasikan ke tabungan darurat.\n");
+        }
+
+        summary = MonthlySummary.builder()
+                .id(1)
+                .user(BenchmarkFixtures.user())
+                .month("10")
+                .year("2026")
+                .totalIncome(new BigDecimal("15000000.00"))
+                .totalExpense(new BigDecimal("11250000.50"))
+                .balance(new BigDecimal("3749999.50"))
+                .aiSummary("Pengeluaran bulan ini didominasi makanan dan transportasi. "
+                        .repeat(5))
+                .aiRecomendation(recommendationText.toString())
+                .aiTrendAnalysis("Tren pengeluaran naik 8% dibanding bulan lalu, terutama di akhir bulan. "
+                        .repeat(4))
+                .createdAt(LocalDateTime.of(2026, 10, 31, 20, 0))
+                .build();
+    }
+
+    @Benchmark
+    public byte[] generateSummaryPdf() {
+        return pdfExportService.generateSummaryPDF(summary);
+    }
+
+    @Benchmark
+    public byte[] defaultConverter() {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        HtmlConverter.convertToPdf(pdfExportService.generateHTMLContent(summary), outputStream);
+        return outputStream.toByteArray();
+    }
+
+    @Benchmark
+    public String generateHtml() {
+        return pdfExportService.generateHTMLContent(summary);
+    }
+}
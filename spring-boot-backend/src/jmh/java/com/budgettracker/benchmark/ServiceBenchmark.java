@@ -0,0 +1,151 @@
+package com.budgettracker.benchmark;
+
+import com.budgettracker.dto.response.ChartDataResponse;
+import com.budgettracker.entity.Budget;
+import com.budgettracker.entity.FinancialGoal;
+import com.budgettracker.entity.Transaction;
+import com.budgettracker.mapper.BudgetMapper;
+import com.budgettracker.repository.BudgetRepository;
+import com.budgettracker.repository.FinancialGoalRepository;
+import com.budgettracker.repository.LedgerAggregateRepository;
+import com.budgettracker.service.impl.BudgetServiceImpl;
+import com.budgettracker.service.impl.FinancialGoalServiceImpl;
+import com.budgettracker.service.impl.TransactionServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+
+// Jalur CPU di service dengan repository di-stub. Summary, chart, dan budget membaca baris ledger
+// (maksimal satu baris per hari/tipe/kategori), jadi biayanya mengikuti jumlah hari, bukan jumlah transaksi;
+// *InMemoryBaseline mengulang loop lama atas seluruh entity transaksi sebagai pembanding
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class ServiceBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    @Param({"5"})
+    private int goalCount;
+
+    private TransactionServiceImpl transactionService;
+    private BudgetServiceImpl budgetService;
+    private FinancialGoalServiceImpl financialGoalService;
+    private List<Transaction> transactions;
+    private BigDecimal incomeAmount;
+
+    @Setup
+    public void setUp() {
+        YearMonth month = YearMonth.now();
+        transactions = BenchmarkFixtures.transactions(size, month);
+
+        LedgerAggregateRepository ledgerAggregateRepository = BenchmarkFixtures.stub(LedgerAggregateRepository.class);
+        when(ledgerAggregateRepository.sumByTypeBetween(anyInt(), any(), any()))
+                .thenReturn(BenchmarkFixtures.typeTotals(transactions));
+        when(ledgerAggregateRepository.sumByDayAndTypeBetween(anyInt(), any(), any()))
+                .thenReturn(BenchmarkFixtures.dailyTypeTotals(transactions));
+        when(ledgerAggregateRepository.sumByCategoryAndDayBetween(anyInt(), any(), any(), any()))
+                .thenReturn(BenchmarkFixtures.categoryDailyTotals(transactions));
+        transactionService = BenchmarkFixtures.newService(TransactionServiceImpl.class, ledgerAggregateRepository);
+
+        List<Budget> budgets = BenchmarkFixtures.budgets(BenchmarkFixtures.CATEGORY_COUNT, month);
+        BudgetRepository budgetRepository = BenchmarkFixtures.stub(BudgetRepository.class);
+        when(budgetRepository.findByUserId(anyInt())).thenReturn(budgets);
+        budgetService = BenchmarkFixtures.newService(
+                BudgetServiceImpl.class, budgetRepository, ledgerAggregateRepository, new BudgetMapper());
+
+        // Penambahan amount sekarang UPDATE atomik di database; yang diukur pembagian income per goal
+        FinancialGoalRepository financialGoalRepository = BenchmarkFixtures.stub(FinancialGoalRepository.class);
+        List<Integer> goalIds = BenchmarkFixtures.goals(goalCount).stream().map(FinancialGoal::getId).toList();
+        when(financialGoalRepository.findActiveGoalIdsByUserId(anyInt(), any(), any())).thenReturn(goalIds);
+        when(financialGoalRepository.addToCurrentAmount(anyInt(), anyInt(), any())).thenReturn(1);
+        financialGoalService = BenchmarkFixtures.newService(FinancialGoalServiceImpl.class, financialGoalRepository);
+        incomeAmount = new BigDecimal("7500000.00");
+    }
+
+    @Benchmark
+    public Object monthlySummary() {
+        return transactionService.getMonthlySummary(BenchmarkFixtures.USER_ID);
+    }
+
+    @Benchmark
+    public Object monthlyChart() {
+        return transactionService.getMonthlyChart(BenchmarkFixtures.USER_ID);
+    }
+
+    @Benchmark
+    public Object budgetSpentAmounts() {
+        return budgetService.getAll(BenchmarkFixtures.USER_ID);
+    }
+
+    @Benchmark
+    public void autoUpdateFromIncome() {
+        financialGoalService.autoUpdateFromIncome(BenchmarkFixtures.USER_ID, incomeAmount);
+    }
+
+    @Benchmark
+    public void monthlySummaryInMemoryBaseline(Blackhole blackhole) {
+        BigDecimal totalIncome = BigDecimal.ZERO;
+        BigDecimal totalExpense = BigDecimal.ZERO;
+        for (Transaction tx : transactions) {
+            if (tx.getType() == Transaction.TransactionType.INCOME) {
+                totalIncome = totalIncome.add(tx.getAmount());
+            } else {
+                totalExpense = totalExpense.add(tx.getAmount());
+            }
+        }
+        blackhole.consume(totalIncome);
+        blackhole.consume(totalExpense);
+    }
+
+    @Benchmark
+    public List<ChartDataResponse> monthlyChartInMemoryBaseline() {
+        YearMonth yearMonth = YearMonth.now();
+        int daysInMonth = yearMonth.lengthOfMonth();
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+        List<ChartDataResponse> chartData = new ArrayList<>(daysInMonth);
+        for (int day = 1; day <= daysInMonth; day++) {
+            LocalDate date = yearMonth.atDay(day);
+            chartData.add(ChartDataResponse.builder()
+                    .date(date.format(formatter))
+                    .income(0L)
+                    .expense(0L)
+                    .build());
+        }
+        for (Transaction tx : transactions) {
+            ChartDataResponse dayData = chartData.get(tx.getDate().getDayOfMonth() - 1);
+            long amount = tx.getAmount().longValue();
+            if (tx.getType() == Transaction.TransactionType.INCOME) {
+                dayData.setIncome(dayData.getIncome() + amount);
+            } else {
+                dayData.setExpense(dayData.getExpense() + amount);
+            }
+        }
+        return chartData;
+    }
+}
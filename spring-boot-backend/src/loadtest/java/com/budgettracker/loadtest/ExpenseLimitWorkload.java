@@ -0,0 +1,228 @@
+package com.budgettracker.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+// Stress test batas pengeluaran: banyak virtual user berbagi sedikit akun dan menembakkan expense bersamaan
+// (seperti beberapa device milik satu orang), sesekali diselingi income kecil. Income awal sengaja kecil supaya
+// akun cepat mencapai batas dan sebagian besar request berebut di titik itu. Income top up juga sesekali
+// diturunkan atau dihapus saat expense sudah mendekati batas, jalur lain yang bisa membuat expense > income.
+// verify() membandingkan total di server dengan jumlah expense/income yang diterima (2xx) dan memastikan
+// expense tidak pernah melebihi income.
+public class ExpenseLimitWorkload implements Workload {
+
+    private static final long INITIAL_INCOME = 5_000_000L;
+    private static final int TOP_UP_PERCENT = 3;
+    private static final int INCOME_CUT_PERCENT = 3;
+
+    private final String runId;
+    private final int accountCount;
+    private final List<Account> accounts = new ArrayList<>();
+
+    private volatile Integer incomeCategoryId;
+    private volatile Integer expenseCategoryId;
+    private volatile LocalDate month;
+
+    public ExpenseLimitWorkload(String runId, int accountCount) {
+        this.runId = runId;
+        this.accountCount = accountCount;
+    }
+
+    @Override
+    public String name() {
+        return "expense-limit";
+    }
+
+    @Override
+    public void prepare(ApiClient client) {
+        // Semua transaksi memakai bulan saat prepare, jadi run yang melewati pergantian bulan tetap konsisten
+        month = LocalDate.now().withDayOfMonth(1);
+        for (int i = 0; i < accountCount; i++) {
+            Account account = new Account(register(client, "acct-" + i));
+            accounts.add(account);
+        }
+
+        JsonNode categories = client.get("GET /api/v1/category", "/api/v1/category", accounts.get(0).token).data();
+        for (JsonNode category : categories) {
+            boolean income = "INCOME".equalsIgnoreCase(category.path("type").asText());
+            if (income && incomeCategoryId == null) {
+                incomeCategoryId = category.path("id").asInt();
+            } else if (!income && expenseCategoryId == null) {
+                expenseCategoryId = category.path("id").asInt();
+            }
+        }
+        if (incomeCategoryId == null || expenseCategoryId == null) {
+            throw new IllegalStateException("Seed kategori income/expense tidak ditemukan");
+        }
+
+        for (Account account : accounts) {
+            if (!postTransaction(client, account, "income", INITIAL_INCOME, "Gaji stress test")) {
+                throw new IllegalStateException("Income awal gagal dibuat");
+            }
+            account.acceptedIncome.add(INITIAL_INCOME);
+        }
+    }
+
+    @Override
+    public void runUser(int userIndex, ApiClient client, RunControl control) {
+        Account account = accounts.get(userIndex % accounts.size());
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        while (control.running()) {
+            int roll = random.nextInt(100);
+            if (roll < TOP_UP_PERCENT) {
+                long amount = 100_000L + random.nextInt(400_000);
+                ApiClient.Result result = client.post("POST /api/v1/transaction", "/api/v1/transaction",
+                        body("income", amount, "Top up"), account.token);
+                if (result.ok()) {
+                    account.acceptedIncome.add(amount);
+                    account.topUps.addLast(new TopUp(result.data().path("id").asInt(), amount));
+                }
+            } else if (roll < TOP_UP_PERCENT + INCOME_CUT_PERCENT) {
+                cutIncome(client, account, random.nextBoolean());
+            } else {
+                long amount = 10_000L + random.nextInt(190_000);
+                ApiClient.Result result = client.post("POST /api/v1/transaction", "/api/v1/transaction",
+                        body("expense", amount, "Belanja bersamaan"), account.token);
+                if (result.ok()) {
+                    account.acceptedExpense.add(amount);
+                    account.acceptedCount.increment();
+                } else if (result.status() == 400) {
+                    account.rejected.increment();
+                } else {
+                    account.failed.increment();
+                }
+            }
+            control.think();
+        }
+    }
+
+    @Override
+    public boolean verify(ApiClient client) {
+        String range = "from=" + month + "&to=" + month.withDayOfMonth(month.lengthOfMonth());
+        boolean passed = true;
+        System.out.println();
+        System.out.println("Akun  income(server/client)  expense(server/client)  diterima  ditolak  "
+                + "income turun/ditolak  error");
+        for (int i = 0; i < accounts.size(); i++) {
+            Account account = accounts.get(i);
+            JsonNode summary = client.get("GET /api/v1/analytics/summary",
+                    "/api/v1/analytics/summary?" + range, account.token).data();
+            BigDecimal serverIncome = summary.path("income").decimalValue();
+            BigDecimal serverExpense = summary.path("expense").decimalValue();
+            BigDecimal clientIncome = BigDecimal.valueOf(account.acceptedIncome.sum());
+            BigDecimal clientExpense = BigDecimal.valueOf(account.acceptedExpense.sum());
+
+            boolean consistent = serverIncome.compareTo(clientIncome) == 0
+                    && serverExpense.compareTo(clientExpense) == 0;
+            boolean withinLimit = serverExpense.compareTo(serverIncome) <= 0;
+            System.out.printf("%4d  %s / %s  %s / %s  %d  %d  %d / %d  %d%s%n",
+                    i, serverIncome.toPlainString(), clientIncome.toPlainString(),
+                    serverExpense.toPlainString(), clientExpense.toPlainString(),
+                    account.acceptedCount.sum(), account.rejected.sum(),
+                    account.incomeCuts.sum(), account.incomeCutsRejected.sum(), account.failed.sum(),
+                    consistent && withinLimit ? "" : "  <-- GAGAL");
+            passed &= consistent && withinLimit && account.failed.sum() == 0;
+        }
+        System.out.println(passed
+                ? "Invariant terjaga: expense <= income di semua akun, total server = total yang diterima"
+                : "Invariant DILANGGAR");
+        return passed;
+    }
+
+    // Top up diambil dari deque supaya hanya satu virtual user yang mengubahnya; dikembalikan jika masih ada.
+    // Setengah nominal (PUT) atau hapus (DELETE); keduanya harus ditolak 400 jika income tidak lagi menutup expense.
+    private void cutIncome(ApiClient client, Account account, boolean preferDelete) {
+        TopUp topUp = account.topUps.pollFirst();
+        if (topUp == null) {
+            return;
+        }
+        // Nominal yang sudah kecil langsung dihapus supaya tidak turun sampai 0
+        boolean delete = preferDelete || topUp.amount() < 20_000;
+        String path = "/api/v1/transaction/" + topUp.id();
+        long newAmount = delete ? 0 : topUp.amount() / 2;
+        ApiClient.Result result = delete
+                ? client.delete("DELETE /api/v1/transaction/:id", path, account.token)
+                : client.put("PUT /api/v1/transaction/:id", path,
+                        Map.of("amount", BigDecimal.valueOf(newAmount)), account.token);
+        if (result.ok()) {
+            account.acceptedIncome.add(newAmount - topUp.amount());
+            account.incomeCuts.increment();
+            if (!delete) {
+                account.topUps.addLast(new TopUp(topUp.id(), newAmount));
+            }
+            return;
+        }
+        account.topUps.addLast(topUp);
+        if (result.status() == 400) {
+            account.incomeCutsRejected.increment();
+        } else {
+            account.failed.increment();
+        }
+    }
+
+    private boolean postTransaction(ApiClient client, Account account, String type, long amount, String note) {
+        return client.post("POST /api/v1/transaction", "/api/v1/transaction",
+                body(type, amount, note), account.token).ok();
+    }
+
+    private Map<String, Object> body(String type, long amount, String note) {
+        return Map.of(
+                "type", type,
+                "amount", BigDecimal.valueOf(amount),
+                "date", month.toString(),
+                "note", note,
+                "categoryId", "income".equals(type) ? incomeCategoryId : expenseCategoryId);
+    }
+
+    private String register(ApiClient client, String suffix) {
+        String email = "lt-" + runId + "-" + suffix + "@loadtest.local";
+        String password = "loadtest123";
+        Map<String, Object> body = Map.of(
+                "name", "Load Test " + suffix,
+                "email", email,
+                "password", password,
+                "number", "0812" + Math.abs((runId + suffix).hashCode() % 100_000_000));
+        ApiClient.Result registered = client.post("POST /api/v1/auth/register", "/api/v1/auth/register", body, null);
+        if (!registered.ok()) {
+            throw new IllegalStateException("Register gagal (" + registered.status() + "): " + registered.body());
+        }
+        String token = registered.data().path("token").asText(null);
+        if (token == null) {
+            ApiClient.Result login = client.post("POST /api/v1/auth/login", "/api/v1/auth/login",
+                    Map.of("email", email, "password", password), null);
+            token = login.data().path("token").asText(null);
+        }
+        if (token == null) {
+            throw new IllegalStateException("Login gagal untuk " + email);
+        }
+        return token;
+    }
+
+    private static class Account {
+        private final String token;
+        private final LongAdder acceptedIncome = new LongAdder();
+        private final LongAdder acceptedExpense = new LongAdder();
+        private final LongAdder acceptedCount = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder incomeCuts = new LongAdder();
+        private final LongAdder incomeCutsRejected = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final ConcurrentLinkedDeque<TopUp> topUps = new ConcurrentLinkedDeque<>();
+
+        private Account(String token) {
+            this.token = token;
+        }
+    }
+
+    private record TopUp(int id, long amount) {
+    }
+}
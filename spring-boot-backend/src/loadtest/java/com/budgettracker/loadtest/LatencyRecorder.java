@@ -0,0 +1,98 @@
+package com.budgettracker.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Histogram latency (mikrodetik) dan jumlah error per endpoint. Nama endpoint memakai template
+// path (mis. "GET /api/v1/transaction/:id") supaya id yang berbeda masuk ke histogram yang sama.
+public class LatencyRecorder {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+
+    public void record(String endpoint, long elapsedNanos, boolean error) {
+        EndpointStats stats = endpoints.computeIfAbsent(endpoint, name -> new EndpointStats());
+        stats.recorder.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(elapsedNanos), HIGHEST_TRACKABLE_MICROS));
+        if (error) {
+            stats.errors.increment();
+        }
+    }
+
+    // Ambil interval sejak snapshot terakhir; dipakai untuk membuang data fase warmup
+    public List<EndpointResult> snapshot() {
+        List<EndpointResult> results = new ArrayList<>();
+        endpoints.forEach((name, stats) -> results.add(
+                new EndpointResult(name, stats.recorder.getIntervalHistogram(), stats.errors.sumThenReset())));
+        results.sort(Comparator.comparing(EndpointResult::endpoint));
+        return results;
+    }
+
+    public static void printReport(List<EndpointResult> results, double elapsedSeconds, PrintStream out) {
+        out.printf(Locale.ROOT, "%-52s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        long totalCount = 0;
+        long totalErrors = 0;
+        for (EndpointResult result : results) {
+            Histogram histogram = result.histogram();
+            long count = histogram.getTotalCount();
+            totalCount += count;
+            totalErrors += result.errors();
+            out.printf(Locale.ROOT, "%-52s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    result.endpoint(),
+                    count,
+                    result.errors(),
+                    count / elapsedSeconds,
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(90)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()));
+        }
+        out.printf(Locale.ROOT, "%-52s %9d %7d %9.1f%n", "TOTAL", totalCount, totalErrors, totalCount / elapsedSeconds);
+    }
+
+    // Satu file .hgrm per endpoint (bisa diplot dengan HdrHistogram plotter) + ringkasan teks
+    public static void writeReport(List<EndpointResult> results, double elapsedSeconds, Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (EndpointResult result : results) {
+            Path file = directory.resolve(fileNameOf(result.endpoint()) + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+                // Nilai histogram dalam mikrodetik, output dalam milidetik
+                result.histogram().outputPercentileDistribution(out, 1000.0);
+            }
+        }
+        try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve("summary.txt")))) {
+            printReport(results, elapsedSeconds, out);
+        }
+    }
+
+    private static String fileNameOf(String endpoint) {
+        return endpoint.replaceAll("[^A-Za-z0-9]+", "_").replaceAll("^_|_$", "");
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    public record EndpointResult(String endpoint, Histogram histogram, long errors) {
+    }
+
+    private static class EndpointStats {
+        private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+        private final LongAdder errors = new LongAdder();
+    }
+}
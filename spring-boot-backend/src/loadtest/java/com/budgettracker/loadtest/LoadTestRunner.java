@@ -0,0 +1,153 @@
+package com.budgettracker.loadtest;
+
+import com.budgettracker.BudgetTrackerApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Menjalankan aplikasi (profile loadtest: H2 mode MySQL + stub OpenRouter) lalu menembakkan workload
+// dengan N virtual user tertutup (closed model). Argumen: --users, --warmup, --duration (detik),
+// --think-time-ms, --llm-latency-ms, --workload (mixed | expense-limit), --accounts (expense-limit), --out
+public class LoadTestRunner {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseArgs(args);
+        int users = Integer.parseInt(options.getOrDefault("users", "50"));
+        int warmupSeconds = Integer.parseInt(options.getOrDefault("warmup", "15"));
+        int durationSeconds = Integer.parseInt(options.getOrDefault("duration", "60"));
+        long thinkTimeMs = Long.parseLong(options.getOrDefault("think-time-ms", "0"));
+        long llmLatencyMs = Long.parseLong(options.getOrDefault("llm-latency-ms", "1500"));
+        String runId = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
+        Workload workload = workloadOf(options.getOrDefault("workload", "mixed"), runId, options);
+        Path outputDirectory = Path.of(options.getOrDefault("out", "target/loadtest"), workload.name() + "-" + runId);
+
+        // DevTools me-restart context saat classpath berisi direktori; tidak diinginkan untuk load test
+        System.setProperty("spring.devtools.restart.enabled", "false");
+
+        boolean passed;
+        try (StubLlmServer llm = new StubLlmServer(llmLatencyMs);
+             ConfigurableApplicationContext context = new SpringApplicationBuilder(BudgetTrackerApplication.class)
+                     .profiles("loadtest")
+                     .properties(
+                             "server.port=0",
+                             "openrouter.api-url=" + llm.url())
+                     .run()) {
+            String port = context.getEnvironment().getProperty("local.server.port");
+            String baseUrl = "http://127.0.0.1:" + port;
+
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .build();
+            LatencyRecorder recorder = new LatencyRecorder();
+            ApiClient client = new ApiClient(httpClient, baseUrl, recorder);
+
+            System.out.printf("Workload %s: %d users, warmup %ds, durasi %ds, think time %dms, latency LLM %dms%n",
+                    workload.name(), users, warmupSeconds, durationSeconds, thinkTimeMs, llmLatencyMs);
+            if (workload instanceof MixedWorkload mixed) {
+                System.out.println("Bobot aksi: " + mixed.weights());
+            }
+
+            workload.prepare(client);
+
+            long measureStart = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmupSeconds);
+            long deadline = measureStart + TimeUnit.SECONDS.toNanos(durationSeconds);
+            Workload.RunControl control = new Workload.RunControl() {
+                @Override
+                public boolean running() {
+                    return System.nanoTime() < deadline && !Thread.currentThread().isInterrupted();
+                }
+
+                @Override
+                public void think() {
+                    if (thinkTimeMs <= 0) {
+                        return;
+                    }
+                    try {
+                        // Jitter +-50% supaya virtual user tidak bergerak serempak
+                        Thread.sleep(thinkTimeMs / 2 + ThreadLocalRandom.current().nextLong(thinkTimeMs + 1));
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            };
+
+            List<Future<?>> futures = new ArrayList<>(users);
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < users; i++) {
+                    int userIndex = i;
+                    futures.add(executor.submit(() -> workload.runUser(userIndex, client, control)));
+                }
+
+                // Buang data warmup (termasuk register/seed per user)
+                sleepUntil(measureStart);
+                recorder.snapshot();
+                long measuredFrom = System.nanoTime();
+
+                int failedUsers = 0;
+                for (Future<?> future : futures) {
+                    try {
+                        future.get();
+                    } catch (Exception e) {
+                        failedUsers++;
+                        System.err.println("Virtual user gagal: " + e.getMessage());
+                    }
+                }
+                double elapsedSeconds = (System.nanoTime() - measuredFrom) / 1e9;
+
+                List<LatencyRecorder.EndpointResult> results = recorder.snapshot();
+                System.out.println();
+                LatencyRecorder.printReport(results, elapsedSeconds, System.out);
+                LatencyRecorder.writeReport(results, elapsedSeconds, outputDirectory);
+                System.out.printf("%nRequest ke stub LLM: %d, virtual user gagal: %d%nHistogram: %s%n",
+                        llm.requestCount(), failedUsers, outputDirectory.toAbsolutePath());
+
+                passed = workload.verify(client) && failedUsers == 0;
+            }
+        }
+
+        System.exit(passed ? 0 : 1);
+    }
+
+    private static Workload workloadOf(String name, String runId, Map<String, String> options) {
+        return switch (name) {
+            case "mixed" -> new MixedWorkload(runId);
+            case "expense-limit" -> new ExpenseLimitWorkload(runId, Integer.parseInt(options.getOrDefault("accounts", "5")));
+            default -> throw new IllegalArgumentException("Workload tidak dikenal: " + name);
+        };
+    }
+
+    private static Map<String, String> parseArgs(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Argumen harus berformat --nama=nilai: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+
+    private static void sleepUntil(long nanoTime) throws InterruptedException {
+        long remaining = nanoTime - System.nanoTime();
+        if (remaining > 0) {
+            TimeUnit.NANOSECONDS.sleep(remaining);
+        }
+    }
+}
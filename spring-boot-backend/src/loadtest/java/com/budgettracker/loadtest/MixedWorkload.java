@@ -0,0 +1,304 @@
+package com.budgettracker.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Campuran request mirip pemakaian aplikasi: dashboard paling sering, lalu CRUD transaksi,
+// budget, goal, login ulang, dan sesekali generate summary AI (sync dan async lewat stub LLM)
+public class MixedWorkload implements Workload {
+
+    // Batas generate summary per user per hari di MonthlySummaryServiceImpl
+    private static final int MAX_GENERATIONS_PER_USER = 2;
+    private static final int MAX_TRACKED_TRANSACTIONS = 50;
+    private static final long JOB_POLL_INTERVAL_MS = 200;
+
+    private final String runId;
+    private final List<WeightedAction> actions = new ArrayList<>();
+    private int totalWeight;
+
+    private volatile List<Integer> incomeCategoryIds = List.of();
+    private volatile List<Integer> expenseCategoryIds = List.of();
+
+    public MixedWorkload(String runId) {
+        this.runId = runId;
+        add(10, "dashboard summary", (user, client) ->
+                client.get("GET /api/v1/transaction/monthly-summary", "/api/v1/transaction/monthly-summary", user.token));
+        add(10, "dashboard chart", (user, client) ->
+                client.get("GET /api/v1/transaction/monthly-chart", "/api/v1/transaction/monthly-chart", user.token));
+        add(6, "today stats", (user, client) ->
+                client.get("GET /api/v1/transaction/today-expense-stats", "/api/v1/transaction/today-expense-stats", user.token));
+        add(4, "today", (user, client) ->
+                client.get("GET /api/v1/transaction/today", "/api/v1/transaction/today", user.token));
+        add(10, "list transactions", (user, client) ->
+                client.get("GET /api/v1/transaction", "/api/v1/transaction?page=1&limit=10", user.token));
+        add(4, "cursor transactions", (user, client) ->
+                client.get("GET /api/v1/transaction?cursor", "/api/v1/transaction?cursor=&limit=20", user.token));
+        add(14, "create expense", this::createExpense);
+        add(5, "get transaction", this::getTransaction);
+        add(4, "update transaction", this::updateTransaction);
+        add(3, "delete transaction", this::deleteTransaction);
+        add(5, "budgets", (user, client) ->
+                client.get("GET /api/v1/budget", "/api/v1/budget", user.token));
+        add(3, "active budgets", (user, client) ->
+                client.get("GET /api/v1/budget/active", "/api/v1/budget/active", user.token));
+        add(1, "create budget", this::createBudget);
+        add(4, "goals", (user, client) ->
+                client.get("GET /api/v1/financial-goals/active", "/api/v1/financial-goals/active", user.token));
+        add(2, "add goal amount", this::addGoalAmount);
+        add(2, "categories", (user, client) ->
+                client.get("GET /api/v1/category", "/api/v1/category", user.token));
+        add(3, "login", this::login);
+        add(2, "summaries", (user, client) ->
+                client.get("GET /api/v1/monthly-summary", "/api/v1/monthly-summary", user.token));
+        add(1, "generate summary", this::generateSummary);
+        add(1, "generate summary async", this::generateSummaryAsync);
+    }
+
+    @Override
+    public String name() {
+        return "mixed";
+    }
+
+    @Override
+    public void prepare(ApiClient client) {
+        UserSession admin = register(client, "setup");
+        JsonNode categories = client.get("GET /api/v1/category", "/api/v1/category", admin.token).data();
+        List<Integer> income = new ArrayList<>();
+        List<Integer> expense = new ArrayList<>();
+        for (JsonNode category : categories) {
+            if ("INCOME".equalsIgnoreCase(category.path("type").asText())) {
+                income.add(category.path("id").asInt());
+            } else {
+                expense.add(category.path("id").asInt());
+            }
+        }
+        if (income.isEmpty() || expense.isEmpty()) {
+            throw new IllegalStateException("Seed kategori income/expense tidak ditemukan");
+        }
+        incomeCategoryIds = List.copyOf(income);
+        expenseCategoryIds = List.copyOf(expense);
+    }
+
+    @Override
+    public void runUser(int userIndex, ApiClient client, RunControl control) {
+        UserSession user = register(client, String.valueOf(userIndex));
+        seedUserData(user, client);
+
+        while (control.running()) {
+            pick().action().run(user, client);
+            control.think();
+        }
+    }
+
+    private UserSession register(ApiClient client, String suffix) {
+        String email = "lt-" + runId + "-" + suffix + "@loadtest.local";
+        String password = "loadtest123";
+        Map<String, Object> body = Map.of(
+                "name", "Load Test " + suffix,
+                "email", email,
+                "password", password,
+                "number", "0812" + Math.abs((runId + suffix).hashCode() % 100_000_000));
+        ApiClient.Result registered = client.post("POST /api/v1/auth/register", "/api/v1/auth/register", body, null);
+        if (!registered.ok()) {
+            throw new IllegalStateException("Register gagal (" + registered.status() + "): " + registered.body());
+        }
+        UserSession user = new UserSession(email, password);
+        user.token = registered.data().path("token").asText(null);
+        if (user.token == null) {
+            login(user, client);
+        }
+        return user;
+    }
+
+    // Pemasukan besar di awal supaya validasi batas pengeluaran tidak menolak expense selama run
+    private void seedUserData(UserSession user, ApiClient client) {
+        client.post("POST /api/v1/transaction", "/api/v1/transaction", Map.of(
+                "type", "income",
+                "amount", new BigDecimal("1000000000.00"),
+                "date", LocalDate.now().withDayOfMonth(1).toString(),
+                "note", "Gaji load test",
+                "categoryId", randomOf(incomeCategoryIds)), user.token);
+
+        client.post("POST /api/v1/financial-goals", "/api/v1/financial-goals", Map.of(
+                "name", "Dana darurat",
+                "targetAmount", new BigDecimal("50000000.00"),
+                "deadline", LocalDate.now().plusYears(1).toString(),
+                "type", "SAVINGS"), user.token);
+        JsonNode goals = client.get("GET /api/v1/financial-goals/active", "/api/v1/financial-goals/active", user.token).data();
+        if (goals.isArray() && !goals.isEmpty()) {
+            user.goalId = goals.get(0).path("id").asInt();
+        }
+
+        createBudget(user, client);
+    }
+
+    private void createExpense(UserSession user, ApiClient client) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LocalDate date = LocalDate.now().withDayOfMonth(1 + random.nextInt(LocalDate.now().getDayOfMonth()));
+        ApiClient.Result result = client.post("POST /api/v1/transaction", "/api/v1/transaction", Map.of(
+                "type", "expense",
+                "amount", BigDecimal.valueOf(5_000 + random.nextInt(500_000)),
+                "date", date.toString(),
+                "note", "Belanja harian " + random.nextInt(1000),
+                "categoryId", randomOf(expenseCategoryIds)), user.token);
+        if (result.ok()) {
+            user.transactionIds.addLast(result.data().path("id").asInt());
+            if (user.transactionIds.size() > MAX_TRACKED_TRANSACTIONS) {
+                user.transactionIds.removeFirst();
+            }
+        }
+    }
+
+    private void getTransaction(UserSession user, ApiClient client) {
+        Integer id = user.transactionIds.peekLast();
+        if (id == null) {
+            createExpense(user, client);
+            return;
+        }
+        client.get("GET /api/v1/transaction/:id", "/api/v1/transaction/" + id, user.token);
+    }
+
+    private void updateTransaction(UserSession user, ApiClient client) {
+        Integer id = user.transactionIds.peekLast();
+        if (id == null) {
+            createExpense(user, client);
+            return;
+        }
+        client.put("PUT /api/v1/transaction/:id", "/api/v1/transaction/" + id, Map.of(
+                "amount", BigDecimal.valueOf(5_000 + ThreadLocalRandom.current().nextInt(500_000)),
+                "note", "Koreksi nominal"), user.token);
+    }
+
+    private void deleteTransaction(UserSession user, ApiClient client) {
+        Integer id = user.transactionIds.pollFirst();
+        if (id == null) {
+            createExpense(user, client);
+            return;
+        }
+        client.delete("DELETE /api/v1/transaction/:id", "/api/v1/transaction/" + id, user.token);
+    }
+
+    private void createBudget(UserSession user, ApiClient client) {
+        client.post("POST /api/v1/budget", "/api/v1/budget", Map.of(
+                "categoryId", randomOf(expenseCategoryIds),
+                "amount", new BigDecimal("3000000.00"),
+                "period", "MONTHLY",
+                "periodStart", LocalDate.now().withDayOfMonth(1).toString(),
+                "description", "Budget bulanan"), user.token);
+    }
+
+    private void addGoalAmount(UserSession user, ApiClient client) {
+        if (user.goalId == null) {
+            return;
+        }
+        client.post("POST /api/v1/financial-goals/:id/add-amount",
+                "/api/v1/financial-goals/" + user.goalId + "/add-amount",
+                Map.of("amount", new BigDecimal("10000.00")), user.token);
+    }
+
+    private void login(UserSession user, ApiClient client) {
+        ApiClient.Result result = client.post("POST /api/v1/auth/login", "/api/v1/auth/login",
+                Map.of("email", user.email, "password", user.password), null);
+        if (result.ok()) {
+            user.token = result.data().path("token").asText(user.token);
+        }
+    }
+
+    private void generateSummary(UserSession user, ApiClient client) {
+        if (user.generations >= MAX_GENERATIONS_PER_USER) {
+            client.get("GET /api/v1/monthly-summary", "/api/v1/monthly-summary", user.token);
+            return;
+        }
+        user.generations++;
+        client.post("POST /api/v1/monthly-summary/generate", "/api/v1/monthly-summary/generate", Map.of(), user.token);
+    }
+
+    private void generateSummaryAsync(UserSession user, ApiClient client) {
+        if (user.generations >= MAX_GENERATIONS_PER_USER) {
+            client.get("GET /api/v1/monthly-summary", "/api/v1/monthly-summary", user.token);
+            return;
+        }
+        user.generations++;
+        ApiClient.Result submitted = client.post("POST /api/v1/monthly-summary/generate/async",
+                "/api/v1/monthly-summary/generate/async", Map.of(), user.token);
+        String jobId = submitted.data().path("jobId").asText(null);
+        if (!submitted.ok() || jobId == null) {
+            return;
+        }
+
+        // Poll sampai selesai; waktu tunggu total tercatat lewat jumlah dan latency poll
+        for (int attempt = 0; attempt < 600; attempt++) {
+            ApiClient.Result job = client.get("GET /api/v1/monthly-summary/generate/jobs/:jobId",
+                    "/api/v1/monthly-summary/generate/jobs/" + jobId, user.token);
+            String status = job.data().path("status").asText("");
+            if (!job.ok() || "DONE".equals(status) || "FAILED".equals(status)) {
+                return;
+            }
+            try {
+                Thread.sleep(JOB_POLL_INTERVAL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void add(int weight, String name, Action action) {
+        actions.add(new WeightedAction(name, weight, action));
+        totalWeight += weight;
+    }
+
+    private WeightedAction pick() {
+        int roll = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (WeightedAction action : actions) {
+            roll -= action.weight();
+            if (roll < 0) {
+                return action;
+            }
+        }
+        return actions.get(actions.size() - 1);
+    }
+
+    private static Integer randomOf(List<Integer> ids) {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+    // Ringkasan bobot untuk dicetak di awal run
+    public Map<String, Integer> weights() {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (WeightedAction action : actions) {
+            weights.put(action.name(), action.weight());
+        }
+        return weights;
+    }
+
+    private interface Action {
+        void run(UserSession user, ApiClient client);
+    }
+
+    private record WeightedAction(String name, int weight, Action action) {
+    }
+
+    private static class UserSession {
+        private final String email;
+        private final String password;
+        private final Deque<Integer> transactionIds = new ArrayDeque<>();
+        private String token;
+        private Integer goalId;
+        private int generations;
+
+        private UserSession(String email, String password) {
+            this.email = email;
+            this.password = password;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.budgettracker.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Pengganti OpenRouter untuk load test: menerima POST chat/completions dan membalas JSON
+// berformat sama dengan response asli setelah latency tetap (meniru waktu tunggu model)
+public class StubLlmServer implements AutoCloseable {
+
+    public static final String PATH = "/api/v1/chat/completions";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final long latencyMs;
+    private final AtomicLong requests = new AtomicLong();
+
+    public StubLlmServer(long latencyMs) throws IOException {
+        this.latencyMs = latencyMs;
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.server.setExecutor(executor);
+        this.server.createContext(PATH, this::handle);
+        this.server.start();
+    }
+
+    public String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + PATH;
+    }
+
+    public long requestCount() {
+        return requests.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange; InputStream body = exchange.getRequestBody()) {
+            body.readAllBytes();
+            requests.incrementAndGet();
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            sleep(latencyMs);
+
+            byte[] response = completion().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, response.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response);
+            }
+        }
+    }
+
+    private String completion() throws IOException {
+        Map<String, Object> content = Map.of(
+                "summary", "Pengeluaran bulan ini masih terkendali dan didominasi kebutuhan harian.",
+                "recommendations", List.of(
+                        "Sisihkan minimal 20% pemasukan untuk tabungan.",
+                        "Batasi pengeluaran makan di luar menjadi dua kali seminggu.",
+                        "Tinjau ulang langganan yang jarang dipakai."),
+                "trend_analysis", "Pengeluaran cenderung naik di akhir bulan setelah gajian.");
+
+        Map<String, Object> message = Map.of(
+                "role", "assistant",
+                "content", OBJECT_MAPPER.writeValueAsString(content));
+
+        return OBJECT_MAPPER.writeValueAsString(Map.of(
+                "id", "stub-" + UUID.randomUUID(),
+                "object", "chat.completion",
+                "model", "stub/loadtest",
+                "choices", List.of(Map.of("index", 0, "message", message, "finish_reason", "stop")),
+                "usage", Map.of("prompt_tokens", 600, "completion_tokens", 180, "total_tokens", 780)));
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
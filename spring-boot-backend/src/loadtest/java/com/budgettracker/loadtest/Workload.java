@@ -0,0 +1,26 @@
+package com.budgettracker.loadtest;
+
+// Skenario load test; runUser dijalankan sekali per virtual user di virtual thread sendiri
+// dan harus terus mengirim request sampai running() bernilai false
+public interface Workload {
+
+    String name();
+
+    // Dipanggil sekali sebelum virtual user dimulai (mis. menyiapkan data bersama)
+    default void prepare(ApiClient client) {
+    }
+
+    void runUser(int userIndex, ApiClient client, RunControl control);
+
+    // Dipanggil setelah semua virtual user selesai; false jika invariant skenario dilanggar
+    default boolean verify(ApiClient client) {
+        return true;
+    }
+
+    interface RunControl {
+
+        boolean running();
+
+        void think();
+    }
+}
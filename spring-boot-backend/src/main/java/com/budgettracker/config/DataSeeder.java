@@ -2,6 +2,7 @@ package com.budgettracker.config;
 
 import com.budgettracker.entity.Category;
 import com.budgettracker.repository.CategoryRepository;
+import com.budgettracker.service.CategoryLookupService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
@@ -16,6 +17,7 @@ import java.util.List;
 public class DataSeeder implements CommandLineRunner {
     
     private final CategoryRepository categoryRepository;
+    private final CategoryLookupService categoryLookupService;
     
     @Override
     public void run(String... args) {
@@ -120,6 +122,7 @@ public class DataSeeder implements CommandLineRunner {
         );
         
         categoryRepository.saveAll(categories);
+        categoryLookupService.invalidate();
         log.info("Successfully seeded {} categories ({} income, {} expense)", 
                 categories.size(),
                 categories.stream().filter(c -> c.getType() == Category.CategoryType.INCOME).count(),
@@ -0,0 +1,65 @@
+package com.budgettracker.config;
+
+import com.budgettracker.repository.LedgerAggregateRepository;
+import com.budgettracker.repository.LedgerMonthlyAggregateRepository;
+import com.budgettracker.repository.MonthlyBalanceRepository;
+import com.budgettracker.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LedgerSeeder implements CommandLineRunner {
+    
+    private final LedgerAggregateRepository ledgerAggregateRepository;
+    private final LedgerMonthlyAggregateRepository ledgerMonthlyAggregateRepository;
+    private final MonthlyBalanceRepository monthlyBalanceRepository;
+    private final TransactionRepository transactionRepository;
+    
+    @Override
+    @Transactional
+    public void run(String... args) {
+        seedLedger();
+        seedMonthlyLedger();
+        seedMonthlyBalances();
+    }
+    
+    private void seedLedger() {
+        if (ledgerAggregateRepository.count() > 0) {
+            log.info("Ledger aggregates already exist, skipping rebuild");
+            return;
+        }
+        
+        if (transactionRepository.count() == 0) {
+            return;
+        }
+        
+        // Database lama (sebelum ada tabel agregat): bangun sekali dari tabel transactions
+        int rows = ledgerAggregateRepository.rebuildAll();
+        log.info("Successfully rebuilt {} ledger aggregate rows from existing transactions", rows);
+    }
+    
+    // Rollup bulanan dibangun dari ledger harian (bukan dari transactions) supaya keduanya selalu cocok
+    private void seedMonthlyLedger() {
+        if (ledgerMonthlyAggregateRepository.count() > 0 || ledgerAggregateRepository.count() == 0) {
+            return;
+        }
+        
+        int rows = ledgerMonthlyAggregateRepository.rebuildAll();
+        log.info("Successfully rebuilt {} monthly ledger rows from daily aggregates", rows);
+    }
+    
+    // Saldo per bulan untuk validasi batas pengeluaran, dari rollup bulanan
+    private void seedMonthlyBalances() {
+        if (monthlyBalanceRepository.count() > 0 || ledgerMonthlyAggregateRepository.count() == 0) {
+            return;
+        }
+        
+        int rows = monthlyBalanceRepository.rebuildAll();
+        log.info("Successfully rebuilt {} monthly balance rows from monthly aggregates", rows);
+    }
+}
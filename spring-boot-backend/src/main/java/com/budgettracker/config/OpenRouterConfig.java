@@ -0,0 +1,46 @@
+package com.budgettracker.config;
+
+import io.netty.channel.ChannelOption;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+@Configuration
+@RequiredArgsConstructor
+public class OpenRouterConfig {
+    
+    private final OpenRouterProperties properties;
+    
+    // Satu connection pool untuk semua panggilan ke OpenRouter
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider openRouterConnectionProvider() {
+        return ConnectionProvider.builder("openrouter")
+                .maxConnections(properties.getMaxConnections())
+                .pendingAcquireTimeout(Duration.ofMillis(properties.getPendingAcquireTimeoutMs()))
+                .maxIdleTime(Duration.ofMillis(properties.getMaxIdleTimeMs()))
+                .build();
+    }
+    
+    @Bean
+    public WebClient openRouterWebClient(WebClient.Builder builder, ConnectionProvider openRouterConnectionProvider) {
+        HttpClient httpClient = HttpClient.create(openRouterConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, properties.getConnectTimeoutMs())
+                .responseTimeout(Duration.ofMillis(properties.getResponseTimeoutMs()));
+        
+        return builder
+                .baseUrl(properties.getApiUrl())
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .defaultHeader("HTTP-Referer", "https://budget-tracker-app.com") // Optional: untuk tracking
+                .defaultHeader("X-Title", "Budget Tracker") // Optional: untuk tracking
+                .build();
+    }
+}
@@ -0,0 +1,26 @@
+package com.budgettracker.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "openrouter")
+@Data
+public class OpenRouterProperties {
+    private String apiKey;
+    private String apiUrl;
+    private String model;
+    
+    private int connectTimeoutMs = 5000;
+    private int responseTimeoutMs = 60000;
+    private int maxConnections = 50;
+    private int pendingAcquireTimeoutMs = 10000;
+    private int maxIdleTimeMs = 30000;
+    
+    // Total percobaan termasuk request pertama
+    private int maxAttempts = 2;
+    private long retryMinBackoffMs = 1000;
+    private long retryMaxBackoffMs = 10000;
+    private double retryJitter = 0.5;
+}
@@ -0,0 +1,78 @@
+package com.budgettracker.config;
+
+import com.budgettracker.util.QueryCounter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+// Menghitung statement SQL per request dan mencatatnya sebagai metric http.server.requests.queries
+// per endpoint (method + pattern), supaya regresi N+1 terlihat tanpa membaca log SQL
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@RequiredArgsConstructor
+@Slf4j
+public class QueryCountFilter extends OncePerRequestFilter {
+    
+    private final QueryCountProperties properties;
+    private final MeterRegistry meterRegistry;
+    
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        
+        if (!properties.isEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        
+        QueryCounter.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            int count = QueryCounter.stop();
+            String uri = patternOf(request);
+            
+            DistributionSummary.builder("http.server.requests.queries")
+                    .description("Jumlah statement SQL per request")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .record(count);
+            
+            int budget = properties.budgetFor(endpointOf(request));
+            if (budget > 0 && count > budget) {
+                Counter.builder("http.server.requests.queries.exceeded")
+                        .tag("method", request.getMethod())
+                        .tag("uri", uri)
+                        .register(meterRegistry)
+                        .increment();
+                log.warn("Query budget exceeded for {}: {} statements (budget {})", endpointOf(request), count, budget);
+            }
+        }
+    }
+    
+    // "METHOD pattern", mis. "GET /api/v1/transaction/{id}"; sama dengan key query-count.budgets
+    public static String endpointOf(HttpServletRequest request) {
+        return request.getMethod() + " " + patternOf(request);
+    }
+    
+    private static String patternOf(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
@@ -0,0 +1,14 @@
+package com.budgettracker.config;
+
+import com.budgettracker.util.QueryCounter;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Dipanggil Hibernate untuk setiap statement SQL yang disiapkan (termasuk lazy load dan native query)
+public class QueryCountInspector implements StatementInspector {
+    
+    @Override
+    public String inspect(String sql) {
+        QueryCounter.increment();
+        return sql;
+    }
+}
@@ -0,0 +1,31 @@
+package com.budgettracker.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Configuration
+@ConfigurationProperties(prefix = "query-count")
+@Data
+public class QueryCountProperties {
+    private boolean enabled = true;
+    
+    // Kirim header X-Query-Count di setiap response JSON
+    private boolean header = true;
+    
+    // Tolak response (500) jika jumlah query melebihi budget; untuk load test/CI, bukan produksi
+    private boolean failOnExceed = false;
+    
+    // Budget untuk endpoint yang tidak ada di budgets; 0 = tidak dibatasi
+    private int defaultBudget = 0;
+    
+    // Key: "METHOD pattern", mis. query-count.budgets[GET /api/v1/transaction/{id}]=3
+    private Map<String, Integer> budgets = new HashMap<>();
+    
+    public int budgetFor(String endpoint) {
+        return budgets.getOrDefault(endpoint, defaultBudget);
+    }
+}
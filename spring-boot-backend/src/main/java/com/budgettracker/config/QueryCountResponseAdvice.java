@@ -0,0 +1,67 @@
+package com.budgettracker.config;
+
+import com.budgettracker.exception.QueryBudgetExceededException;
+import com.budgettracker.util.QueryCounter;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+// Header X-Query-Count harus dipasang sebelum body ditulis (setelah itu response sudah commit),
+// jadi dihitung di sini: semua query service sudah jalan, hanya serialisasi body yang belum
+@RestControllerAdvice
+@RequiredArgsConstructor
+public class QueryCountResponseAdvice implements ResponseBodyAdvice<Object> {
+    
+    public static final String HEADER = "X-Query-Count";
+    
+    // Response error dari GlobalExceptionHandler tidak dicek ulang
+    private static final String CHECKED_ATTRIBUTE = QueryCountResponseAdvice.class.getName() + ".checked";
+    
+    private final QueryCountProperties properties;
+    
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return properties.isEnabled();
+    }
+    
+    @Override
+    public Object beforeBodyWrite(
+            Object body,
+            MethodParameter returnType,
+            MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType,
+            ServerHttpRequest request,
+            ServerHttpResponse response) {
+        
+        int count = QueryCounter.current();
+        if (count < 0) {
+            return body;
+        }
+        
+        if (properties.isHeader()) {
+            response.getHeaders().set(HEADER, String.valueOf(count));
+        }
+        
+        if (properties.isFailOnExceed() && request instanceof ServletServerHttpRequest servletRequest) {
+            HttpServletRequest httpRequest = servletRequest.getServletRequest();
+            if (httpRequest.getAttribute(CHECKED_ATTRIBUTE) == null) {
+                httpRequest.setAttribute(CHECKED_ATTRIBUTE, Boolean.TRUE);
+                String endpoint = QueryCountFilter.endpointOf(httpRequest);
+                int budget = properties.budgetFor(endpoint);
+                if (budget > 0 && count > budget) {
+                    throw new QueryBudgetExceededException(
+                            "Jumlah query " + endpoint + " melebihi budget: " + count + " > " + budget);
+                }
+            }
+        }
+        
+        return body;
+    }
+}
@@ -0,0 +1,74 @@
+package com.budgettracker.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+// Timer "service.method" untuk setiap method public di service.impl, dengan tag class, method, outcome dan exception.
+// Method yang mengembalikan Mono/Flux diukur sampai publisher selesai, termasuk saat dibatalkan (client putus),
+// bukan hanya saat dirakit.
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+
+    public static final String METRIC_NAME = "service.method";
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("execution(public * com.budgettracker.service.impl.*ServiceImpl.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        String className = joinPoint.getSignature().getDeclaringType().getSimpleName();
+        String methodName = joinPoint.getSignature().getName();
+        Timer.Sample sample = Timer.start(meterRegistry);
+
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            sample.stop(timer(className, methodName, "error", e));
+            throw e;
+        }
+
+        if (result instanceof Mono<?> mono) {
+            AtomicReference<Throwable> failure = new AtomicReference<>();
+            return mono
+                    .doOnError(failure::set)
+                    .doFinally(signal -> sample.stop(timer(className, methodName, outcomeOf(signal), failure.get())));
+        }
+
+        if (result instanceof Flux<?> flux) {
+            AtomicReference<Throwable> failure = new AtomicReference<>();
+            return flux
+                    .doOnError(failure::set)
+                    .doFinally(signal -> sample.stop(timer(className, methodName, outcomeOf(signal), failure.get())));
+        }
+        
+        sample.stop(timer(className, methodName, "success", null));
+        return result;
+    }
+
+    private static String outcomeOf(SignalType signal) {
+        return signal == SignalType.ON_ERROR ? "error"
+                : signal == SignalType.CANCEL ? "cancelled" : "success";
+    }
+
+    private Timer timer(String className, String methodName, String outcome, Throwable error) {
+        return Timer.builder(METRIC_NAME)
+                .description("Durasi method service")
+                .tag("class", className)
+                .tag("method", methodName)
+                .tag("outcome", outcome)
+                .tag("exception", error != null ? error.getClass().getSimpleName() : "none")
+                .register(meterRegistry);
+    }
+}
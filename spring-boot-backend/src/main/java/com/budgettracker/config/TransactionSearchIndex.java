@@ -0,0 +1,74 @@
+package com.budgettracker.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// FULLTEXT (ngram) index untuk transactions.note, dibuat oleh migrasi V2__covering_indexes.
+// Jika index tidak ada (bukan MySQL, atau dimatikan lewat config) pencarian kembali ke query LIKE.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionSearchIndex implements CommandLineRunner {
+    
+    public static final String INDEX_NAME = "ft_transactions_note";
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    @Value("${search.fulltext.enabled:true}")
+    private boolean enabled;
+    
+    // Harus sama dengan ngram_token_size di server MySQL (default 2)
+    @Value("${search.fulltext.ngram-token-size:2}")
+    private int ngramTokenSize;
+    
+    private volatile boolean available;
+    
+    @Override
+    public void run(String... args) {
+        if (!enabled) {
+            return;
+        }
+        
+        try {
+            Integer existing = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM information_schema.statistics " +
+                    "WHERE table_schema = DATABASE() AND table_name = 'transactions' AND index_name = ?",
+                    Integer.class, INDEX_NAME);
+            available = existing != null && existing > 0;
+            if (!available) {
+                log.warn("Full-text index {} not found, transaction search falls back to LIKE", INDEX_NAME);
+            }
+        } catch (Exception e) {
+            log.warn("Full-text index unavailable, transaction search falls back to LIKE: {}", e.getMessage());
+        }
+    }
+    
+    public boolean isAvailable() {
+        return available;
+    }
+    
+    // Ubah input pencarian menjadi query BOOLEAN MODE: setiap token wajib ada ("+"),
+    // dicocokkan sebagai frasa ngram sehingga token juga cocok sebagai awalan/potongan kata.
+    // Mengembalikan null jika ada token yang lebih pendek dari ngram (tidak bisa dilayani index).
+    public String toBooleanQuery(String search) {
+        List<String> terms = new ArrayList<>();
+        for (String token : search.trim().split("\\s+")) {
+            String term = token.replaceAll("[+\\-<>()~*\"@]", "");
+            if (term.isEmpty()) {
+                continue;
+            }
+            if (term.length() < ngramTokenSize) {
+                return null;
+            }
+            terms.add("+\"" + term + "\"");
+        }
+        return terms.isEmpty() ? null : String.join(" ", terms);
+    }
+}
@@ -0,0 +1,70 @@
+package com.budgettracker.controller;
+
+import com.budgettracker.dto.response.AnalyticsSummaryResponse;
+import com.budgettracker.dto.response.AnalyticsTrendResponse;
+import com.budgettracker.dto.response.ApiResponse;
+import com.budgettracker.dto.response.YearOverYearResponse;
+import com.budgettracker.service.AnalyticsService;
+import com.budgettracker.util.SecurityUtil;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/v1/analytics")
+@RequiredArgsConstructor
+@Tag(name = "Analytics", description = "API untuk tren dan perbandingan keuangan lintas bulan/tahun")
+@SecurityRequirement(name = "Bearer Authentication")
+public class AnalyticsController {
+    
+    private final AnalyticsService analyticsService;
+    
+    @Operation(
+            summary = "Ringkasan rentang tanggal",
+            description = "Total income/expense, savings rate dan breakdown per kategori untuk rentang tanggal bebas " +
+                    "(default: awal bulan ini sampai hari ini). Memerlukan JWT token."
+    )
+    @GetMapping("/summary")
+    public ResponseEntity<ApiResponse<AnalyticsSummaryResponse>> getSummary(
+            @Parameter(description = "Tanggal awal yyyy-MM-dd (opsional)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Tanggal akhir yyyy-MM-dd (opsional)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        Integer userId = SecurityUtil.getCurrentUserId();
+        AnalyticsSummaryResponse summary = analyticsService.getSummary(userId, from, to);
+        return ResponseEntity.ok(ApiResponse.success("ringkasan analytics", summary));
+    }
+    
+    @Operation(
+            summary = "Tren bulanan",
+            description = "Income, expense, savings rate dan moving average per bulan (default: 12 bulan terakhir). " +
+                    "Bisa difilter per kategori. Memerlukan JWT token."
+    )
+    @GetMapping("/trend")
+    public ResponseEntity<ApiResponse<AnalyticsTrendResponse>> getTrend(
+            @Parameter(description = "Bulan awal yyyy-MM (opsional)") @RequestParam(required = false) String from,
+            @Parameter(description = "Bulan akhir yyyy-MM (opsional)") @RequestParam(required = false) String to,
+            @Parameter(description = "Jumlah bulan moving average (default: 3)") @RequestParam(required = false) Integer window,
+            @Parameter(description = "Filter kategori (opsional)") @RequestParam(required = false) Integer categoryId) {
+        Integer userId = SecurityUtil.getCurrentUserId();
+        AnalyticsTrendResponse trend = analyticsService.getMonthlyTrend(userId, from, to, window, categoryId);
+        return ResponseEntity.ok(ApiResponse.success("tren bulanan", trend));
+    }
+    
+    @Operation(
+            summary = "Perbandingan year-over-year",
+            description = "Total dan per bulan untuk tahun yang dipilih dibanding tahun sebelumnya. Memerlukan JWT token."
+    )
+    @GetMapping("/year-over-year")
+    public ResponseEntity<ApiResponse<YearOverYearResponse>> getYearOverYear(
+            @Parameter(description = "Tahun (default: tahun ini)") @RequestParam(required = false) Integer year) {
+        Integer userId = SecurityUtil.getCurrentUserId();
+        YearOverYearResponse comparison = analyticsService.getYearOverYear(userId, year);
+        return ResponseEntity.ok(ApiResponse.success("perbandingan year-over-year", comparison));
+    }
+}
@@ -8,6 +8,9 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.RuntimeMXBean;
+import java.time.Instant;
 import java.util.Map;
 
 @RestController
@@ -19,10 +22,13 @@ public class HealthController {
     
     @GetMapping("/health")
     public ResponseEntity<ApiResponse<Map<String, Object>>> health() {
+        // Uptime JVM dalam milidetik sejak proses dimulai
+        RuntimeMXBean runtime = ManagementFactory.getRuntimeMXBean();
         Map<String, Object> data = Map.of(
                 "ok", true,
                 "env", System.getenv().getOrDefault("SPRING_PROFILES_ACTIVE", "development"),
-                "uptime", System.currentTimeMillis()
+                "uptime", runtime.getUptime(),
+                "startedAt", Instant.ofEpochMilli(runtime.getStartTime()).toString()
         );
         return ResponseEntity.ok(ApiResponse.success("OK", data));
     }
@@ -5,20 +5,38 @@ import com.budgettracker.dto.request.UpdateMonthlySummaryRequest;
 import com.budgettracker.dto.response.AIGenerateResponse;
 import com.budgettracker.dto.response.ApiResponse;
 import com.budgettracker.dto.response.MonthlySummaryResponse;
+import com.budgettracker.dto.response.SummaryJobResponse;
+import com.budgettracker.dto.response.SummaryStreamEvent;
+import com.budgettracker.exception.HttpException;
 import com.budgettracker.service.MonthlySummaryService;
+import com.budgettracker.service.SummaryJobService;
+import com.budgettracker.service.SummaryPdfBatchService;
+import com.budgettracker.service.SummaryPdfCacheService;
+import com.budgettracker.util.FileTransferUtil;
 import com.budgettracker.util.SecurityUtil;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Flux;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.Locale;
 
 @RestController
 @RequestMapping("/api/v1/monthly-summary")
@@ -28,7 +46,9 @@ import java.util.List;
 public class MonthlySummaryController {
     
     private final MonthlySummaryService monthlySummaryService;
-    private final com.budgettracker.service.PDFExportService pdfExportService;
+    private final SummaryJobService summaryJobService;
+    private final SummaryPdfCacheService summaryPdfCacheService;
+    private final SummaryPdfBatchService summaryPdfBatchService;
     
     @GetMapping
     public ResponseEntity<ApiResponse<List<MonthlySummaryResponse>>> getAll() {
@@ -84,6 +104,89 @@ public class MonthlySummaryController {
                 .body(ApiResponse.success("Summary Bulanan Berhasil Dibuat", response));
     }
     
+    @Operation(
+            summary = "Generate monthly summary dengan AI (async)",
+            description = "Sama seperti /generate, tetapi langsung mengembalikan jobId. " +
+                    "Hasil diambil dengan GET /generate/jobs/{jobId}. Memerlukan JWT token."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "202", description = "Job generate diterima"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Sudah mencapai batas maksimal generate (2x per hari) atau error lainnya"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @PostMapping("/generate/async")
+    public ResponseEntity<ApiResponse<SummaryJobResponse>> generateAsync() {
+        Integer userId = SecurityUtil.getCurrentUserId();
+        SummaryJobResponse job = summaryJobService.submit(userId);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("Summary Bulanan Sedang Dibuat", job));
+    }
+    
+    @Operation(
+            summary = "Generate summary dengan streaming",
+            description = "Server-Sent Events: event 'token' berisi potongan teks dari AI selama dibuat, lalu satu event " +
+                    "'done' berisi hasil yang sudah disimpan, atau 'error' jika gagal. Memerlukan JWT token."
+    )
+    @GetMapping(value = "/generate/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<SummaryStreamEvent>> generateStream() {
+        Integer userId = SecurityUtil.getCurrentUserId();
+        // Validasi (limit harian, user) dijalankan di sini supaya error 400 dikirim sebelum stream dibuka
+        Flux<SummaryStreamEvent> events = monthlySummaryService.generateStream(userId);
+        
+        // Setelah stream terbuka status HTTP sudah 200, jadi kegagalan dikirim sebagai event error
+        return events
+                .onErrorResume(e -> Flux.just(SummaryStreamEvent.error(e instanceof HttpException
+                        ? e.getMessage()
+                        : "Gagal membuat summary. Harap di coba lagi!")))
+                .map(event -> ServerSentEvent.builder(event).event(event.getType()).build());
+    }
+    
+    @GetMapping("/generate/jobs/{jobId}")
+    public ResponseEntity<ApiResponse<SummaryJobResponse>> getGenerateJob(@PathVariable String jobId) {
+        Integer userId = SecurityUtil.getCurrentUserId();
+        SummaryJobResponse job = summaryJobService.getJob(userId, jobId);
+        return ResponseEntity.ok(ApiResponse.success("status generate summary", job));
+    }
+    
+    @Operation(
+            summary = "Export beberapa summary sekaligus",
+            description = "Download beberapa monthly summary (lewat ids atau year) sebagai ZIP berisi satu PDF per bulan, " +
+                    "atau sebagai satu PDF gabungan. Memerlukan JWT token."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "File ZIP atau PDF"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Parameter tidak valid"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Summary tidak ditemukan")
+    })
+    @GetMapping("/export-pdf")
+    public ResponseEntity<StreamingResponseBody> exportPDFBatch(
+            @Parameter(description = "ID monthly summary, dipisah koma (opsional jika year diisi)") @RequestParam(required = false) List<Integer> ids,
+            @Parameter(description = "Tahun, mis. 2026: semua summary di tahun itu (opsional)") @RequestParam(required = false) String year,
+            @Parameter(description = "Format: 'zip' (default) atau 'pdf' (satu dokumen gabungan)") @RequestParam(defaultValue = "zip") String format) {
+        Integer userId = SecurityUtil.getCurrentUserId();
+        SummaryPdfBatchService.Format batchFormat;
+        try {
+            batchFormat = SummaryPdfBatchService.Format.valueOf(format.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new com.budgettracker.exception.BadRequestException("Format harus 'zip' atau 'pdf'");
+        }
+        
+        // Kepemilikan dicek sebelum response dimulai supaya error masih bisa dikirim sebagai JSON
+        List<com.budgettracker.entity.MonthlySummary> summaries = summaryPdfBatchService.findOwned(userId, ids, year);
+        StreamingResponseBody body = output -> summaryPdfBatchService.write(summaries, batchFormat, output);
+        
+        String filename = "Financial_Summary_" + (ids == null || ids.isEmpty() ? year.trim() : "batch")
+                + (batchFormat == SummaryPdfBatchService.Format.ZIP ? ".zip" : ".pdf");
+        return ResponseEntity.ok()
+                .contentType(batchFormat == SummaryPdfBatchService.Format.ZIP
+                        ? MediaType.parseMediaType("application/zip")
+                        : MediaType.APPLICATION_PDF)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .header(HttpHeaders.CACHE_CONTROL, "private, no-store")
+                .body(body);
+    }
+    
     @Operation(
             summary = "Export summary ke PDF",
             description = "Download monthly summary dalam format PDF. Memerlukan JWT token."
@@ -94,35 +197,38 @@ public class MonthlySummaryController {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Forbidden - Tidak memiliki akses ke summary ini")
     })
     @GetMapping("/{id}/export-pdf")
-    public ResponseEntity<org.springframework.core.io.Resource> exportPDF(
+    public void exportPDF(
             @Parameter(description = "ID dari monthly summary", required = true)
-            @PathVariable Integer id) {
+            @PathVariable Integer id,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        Integer userId = SecurityUtil.getCurrentUserId();
+        com.budgettracker.entity.MonthlySummary summary = monthlySummaryService.getEntityById(id);
+        
+        // Check ownership
+        if (!summary.getUser().getId().equals(userId)) {
+            throw new com.budgettracker.exception.ForbiddenException("Anda tidak memiliki akses ke summary ini");
+        }
+        
+        // Summary tidak berubah tanpa updatedAt berubah, jadi client yang sudah punya PDF-nya cukup dapat 304
+        ServletWebRequest webRequest = new ServletWebRequest(request, response);
+        if (webRequest.checkNotModified(summaryPdfCacheService.etagOf(summary), summaryPdfCacheService.lastModifiedOf(summary))) {
+            return;
+        }
+        
+        Path pdf;
         try {
-            Integer userId = SecurityUtil.getCurrentUserId();
-            com.budgettracker.entity.MonthlySummary summary = monthlySummaryService.getEntityById(id);
-            
-            // Check ownership
-            if (!summary.getUser().getId().equals(userId)) {
-                throw new com.budgettracker.exception.ForbiddenException("Anda tidak memiliki akses ke summary ini");
-            }
-            
-            byte[] pdfBytes = pdfExportService.generateSummaryPDF(summary);
-            org.springframework.core.io.ByteArrayResource resource = 
-                    new org.springframework.core.io.ByteArrayResource(pdfBytes);
-            
-            String filename = String.format("Financial_Summary_%s_%s.pdf", 
-                    summary.getMonth(), summary.getYear());
-            
-            return ResponseEntity.ok()
-                    .header(org.springframework.http.HttpHeaders.CONTENT_DISPOSITION, 
-                            "attachment; filename=\"" + filename + "\"")
-                    .contentType(org.springframework.http.MediaType.APPLICATION_PDF)
-                    .body(resource);
-        } catch (com.budgettracker.exception.ForbiddenException e) {
-            throw e;
+            pdf = summaryPdfCacheService.getOrRender(summary);
         } catch (Exception e) {
             throw new com.budgettracker.exception.BadRequestException("Gagal membuat PDF: " + e.getMessage());
         }
+        
+        String filename = String.format("Financial_Summary_%s_%s.pdf", 
+                summary.getMonth(), summary.getYear());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"");
+        // private: PDF berisi data keuangan user; no-cache: browser tetap revalidasi lewat ETag
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        FileTransferUtil.send(request, response, pdf, MediaType.APPLICATION_PDF_VALUE);
     }
 }
 
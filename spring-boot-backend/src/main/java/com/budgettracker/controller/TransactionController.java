@@ -3,7 +3,11 @@ package com.budgettracker.controller;
 import com.budgettracker.dto.request.CreateTransactionRequest;
 import com.budgettracker.dto.request.UpdateTransactionRequest;
 import com.budgettracker.dto.response.*;
+import com.budgettracker.entity.Transaction;
+import com.budgettracker.exception.BadRequestException;
 import com.budgettracker.exception.ForbiddenException;
+import com.budgettracker.service.TransactionExportService;
+import com.budgettracker.service.TransactionImportService;
 import com.budgettracker.service.TransactionService;
 import com.budgettracker.util.SecurityUtil;
 import io.swagger.v3.oas.annotations.Operation;
@@ -13,13 +17,21 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/v1/transaction")
@@ -29,10 +41,14 @@ import java.util.Map;
 public class TransactionController {
     
     private final TransactionService transactionService;
+    private final TransactionImportService transactionImportService;
+    private final TransactionExportService transactionExportService;
     
     @Operation(
             summary = "Get semua transaksi",
-            description = "Mendapatkan daftar transaksi user dengan pagination dan search. Memerlukan JWT token."
+            description = "Mendapatkan daftar transaksi user dengan pagination dan search. " +
+                    "Kirim parameter cursor (kosong untuk halaman pertama) untuk mode keyset, lalu gunakan " +
+                    "pagination.nextCursor untuk halaman berikutnya. Memerlukan JWT token."
     )
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Berhasil mendapatkan daftar transaksi"),
@@ -43,9 +59,13 @@ public class TransactionController {
             @Parameter(description = "Nomor halaman (default: 1)") @RequestParam(defaultValue = "1") Integer page,
             @Parameter(description = "Jumlah data per halaman (default: 10)") @RequestParam(defaultValue = "10") Integer limit,
             @Parameter(description = "Keyword untuk search (opsional)") @RequestParam(required = false) String search,
-            @Parameter(description = "Filter by type: 'income' atau 'expense' (opsional)") @RequestParam(required = false) String type) {
+            @Parameter(description = "Filter by type: 'income' atau 'expense' (opsional)") @RequestParam(required = false) String type,
+            @Parameter(description = "Cursor dari pagination.nextCursor (opsional, mengaktifkan mode cursor)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Sertakan total pada mode cursor (default: false)") @RequestParam(defaultValue = "false") boolean includeTotal) {
         Integer userId = SecurityUtil.getCurrentUserId();
-        PagedResponse<TransactionResponse> response = transactionService.getAllByUser(userId, page, limit, search, type);
+        PagedResponse<TransactionResponse> response = cursor != null
+                ? transactionService.getAllByUserWithCursor(userId, cursor, limit, search, type, includeTotal)
+                : transactionService.getAllByUser(userId, page, limit, search, type);
         
         // Match Express.js response structure: {success, message, data, pagination}
         Map<String, Object> result = new HashMap<>();
@@ -57,6 +77,71 @@ public class TransactionController {
         return ResponseEntity.ok(result);
     }
     
+    @Operation(
+            summary = "Export transaksi",
+            description = "Download transaksi sebagai CSV atau NDJSON, di-stream langsung dari database. " +
+                    "Response dikompres gzip jika client mengirim Accept-Encoding: gzip. Memerlukan JWT token."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "File export"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Parameter tidak valid"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @Parameter(description = "Tanggal awal yyyy-MM-dd (opsional)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Tanggal akhir yyyy-MM-dd (opsional)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Filter by type: 'income' atau 'expense' (opsional)") @RequestParam(required = false) String type,
+            @Parameter(description = "Format: 'csv' (default) atau 'ndjson'") @RequestParam(defaultValue = "csv") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        Integer userId = SecurityUtil.getCurrentUserId();
+        
+        // Batas rentang DATE MySQL, supaya tanpa filter semua transaksi ikut
+        LocalDate startDate = from != null ? from : LocalDate.of(1000, 1, 1);
+        LocalDate endDate = to != null ? to : LocalDate.of(9999, 12, 31);
+        if (startDate.isAfter(endDate)) {
+            throw new BadRequestException("Tanggal awal tidak boleh setelah tanggal akhir");
+        }
+        Transaction.TransactionType transactionType = null;
+        if (type != null && !type.isBlank()) {
+            try {
+                transactionType = Transaction.TransactionType.valueOf(type.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Type harus 'income' atau 'expense'");
+            }
+        }
+        TransactionExportService.Format exportFormat;
+        try {
+            exportFormat = TransactionExportService.Format.valueOf(format.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Format harus 'csv' atau 'ndjson'");
+        }
+        
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+        Transaction.TransactionType filterType = transactionType;
+        StreamingResponseBody body = output -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(output, 8192);
+                transactionExportService.export(userId, startDate, endDate, filterType, exportFormat, compressed);
+                compressed.finish();
+            } else {
+                transactionExportService.export(userId, startDate, endDate, filterType, exportFormat, output);
+            }
+        };
+        
+        String extension = exportFormat == TransactionExportService.Format.CSV ? "csv" : "ndjson";
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_TYPE, exportFormat == TransactionExportService.Format.CSV
+                        ? "text/csv; charset=UTF-8"
+                        : "application/x-ndjson")
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"transactions." + extension + "\"")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<TransactionResponse>> getById(@PathVariable Integer id) {
         Integer userId = SecurityUtil.getCurrentUserId();
@@ -87,6 +172,36 @@ public class TransactionController {
                 .body(ApiResponse.success("transaksi sudah terbuat", transaction));
     }
     
+    @Operation(
+            summary = "Import transaksi dari CSV",
+            description = "Import massal dari CSV (Content-Type text/csv). Header wajib: type, amount, date, " +
+                    "dan categoryId atau category (nama); kolom note opsional. Baris yang tidak valid dilewati " +
+                    "dan dilaporkan di errors. Memerlukan JWT token."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Import selesai"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "File tidak valid"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/vnd.ms-excel"})
+    public ResponseEntity<ApiResponse<TransactionImportResponse>> importCsv(InputStream body) {
+        Integer userId = SecurityUtil.getCurrentUserId();
+        TransactionImportResponse result = transactionImportService.importCsv(userId, body);
+        return ResponseEntity.ok(ApiResponse.success("import transaksi selesai", result));
+    }
+    
+    @Operation(
+            summary = "Import transaksi dari JSON",
+            description = "Import massal dari array JSON dengan format yang sama seperti body POST /api/v1/transaction. " +
+                    "Baris yang tidak valid dilewati dan dilaporkan di errors. Memerlukan JWT token."
+    )
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<TransactionImportResponse>> importJson(InputStream body) {
+        Integer userId = SecurityUtil.getCurrentUserId();
+        TransactionImportResponse result = transactionImportService.importJson(userId, body);
+        return ResponseEntity.ok(ApiResponse.success("import transaksi selesai", result));
+    }
+    
     @PutMapping("/{id}")
     public ResponseEntity<ApiResponse<Object>> update(
             @PathVariable Integer id,
@@ -98,7 +213,8 @@ public class TransactionController {
     
     @DeleteMapping("/{id}")
     public ResponseEntity<ApiResponse<Object>> delete(@PathVariable Integer id) {
-        transactionService.delete(id);
+        Integer userId = SecurityUtil.getCurrentUserId();
+        transactionService.delete(userId, id);
         return ResponseEntity.ok(ApiResponse.success("transaksi sudah di hapus", null));
     }
     
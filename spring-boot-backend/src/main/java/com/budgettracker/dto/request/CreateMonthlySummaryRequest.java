@@ -4,6 +4,8 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 
+import java.math.BigDecimal;
+
 @Data
 public class CreateMonthlySummaryRequest {
     
@@ -14,13 +16,13 @@ public class CreateMonthlySummaryRequest {
     private String year;
     
     @NotNull(message = "Total pemasukan wajib diisi")
-    private String totalIncome;
+    private BigDecimal totalIncome;
     
     @NotNull(message = "Total pengeluaran wajib diisi")
-    private String totalExpense;
+    private BigDecimal totalExpense;
     
     @NotNull(message = "Balance wajib diisi")
-    private String balance;
+    private BigDecimal balance;
     
     private String aiSummary;
     private String aiRecomendation;
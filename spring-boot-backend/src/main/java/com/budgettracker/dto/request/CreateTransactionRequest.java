@@ -1,10 +1,12 @@
 package com.budgettracker.dto.request;
 
 import com.budgettracker.entity.Transaction;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Data
@@ -14,7 +16,8 @@ public class CreateTransactionRequest {
     private String type; // "income" or "expense"
     
     @NotNull(message = "Jumlah harus diisi")
-    private String amount;
+    @Digits(integer = 13, fraction = 2, message = "Format jumlah tidak valid")
+    private BigDecimal amount;
     
     @NotNull(message = "Tanggal wajib diisi")
     private LocalDate date;
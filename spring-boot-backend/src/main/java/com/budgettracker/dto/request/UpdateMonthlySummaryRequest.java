@@ -2,13 +2,15 @@ package com.budgettracker.dto.request;
 
 import lombok.Data;
 
+import java.math.BigDecimal;
+
 @Data
 public class UpdateMonthlySummaryRequest {
     private String month;
     private String year;
-    private String totalIncome;
-    private String totalExpense;
-    private String balance;
+    private BigDecimal totalIncome;
+    private BigDecimal totalExpense;
+    private BigDecimal balance;
     private String aiSummary;
     private String aiRecomendation;
 }
@@ -1,14 +1,17 @@
 package com.budgettracker.dto.request;
 
 import com.budgettracker.entity.Transaction;
+import jakarta.validation.constraints.Digits;
 import lombok.Data;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Data
 public class UpdateTransactionRequest {
     private String type; // "income" or "expense"
-    private String amount;
+    @Digits(integer = 13, fraction = 2, message = "Format jumlah tidak valid")
+    private BigDecimal amount;
     private LocalDate date;
     private String note;
     private Integer categoryId;
@@ -0,0 +1,38 @@
+package com.budgettracker.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalyticsSummaryResponse {
+    private LocalDate from;
+    private LocalDate to;
+    private BigDecimal income;
+    private BigDecimal expense;
+    private BigDecimal balance;
+    private BigDecimal savingsRate; // persen dari income, null jika income 0
+    private Long transactionCount;
+    private List<CategoryBreakdown> categories;
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CategoryBreakdown {
+        private Integer categoryId;
+        private String categoryName;
+        private String type; // "income" or "expense"
+        private BigDecimal total;
+        private Long transactionCount;
+        private BigDecimal percentage; // persen dari total type yang sama
+    }
+}
@@ -0,0 +1,35 @@
+package com.budgettracker.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalyticsTrendResponse {
+    private String from; // "yyyy-MM"
+    private String to;
+    private Integer window; // jumlah bulan untuk moving average
+    private Integer categoryId;
+    private List<MonthPoint> months;
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class MonthPoint {
+        private String period;
+        private BigDecimal income;
+        private BigDecimal expense;
+        private BigDecimal balance;
+        private BigDecimal savingsRate;
+        private BigDecimal incomeMovingAverage;
+        private BigDecimal expenseMovingAverage;
+    }
+}
@@ -11,7 +11,7 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class ChartDataResponse {
     private String date;
-    private Integer income;
-    private Integer expense;
+    private Long income;
+    private Long expense;
 }
 
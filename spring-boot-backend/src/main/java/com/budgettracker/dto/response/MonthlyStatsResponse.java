@@ -10,9 +10,9 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 public class MonthlyStatsResponse {
-    private Integer income;
-    private Integer expense;
-    private Integer balance;
-    private Integer saving;
+    private Long income;
+    private Long expense;
+    private Long balance;
+    private Long saving;
 }
 
@@ -1,5 +1,6 @@
 package com.budgettracker.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -19,11 +20,14 @@ public class PagedResponse<T> {
     @Builder
     @NoArgsConstructor
     @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     public static class PaginationInfo {
         private Long total;
         private Integer page;
         private Integer limit;
         private Integer totalPages;
+        // Hanya pada mode cursor; null berarti sudah halaman terakhir
+        private String nextCursor;
     }
 }
 
@@ -0,0 +1,23 @@
+package com.budgettracker.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SummaryJobResponse {
+    private String jobId;
+    private String status; // "PENDING", "RUNNING", "DONE", "FAILED"
+    private AIGenerateResponse result;
+    private String error;
+    private LocalDateTime createdAt;
+    private LocalDateTime finishedAt;
+}
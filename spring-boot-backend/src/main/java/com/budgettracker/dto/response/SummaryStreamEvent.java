@@ -0,0 +1,31 @@
+package com.budgettracker.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SummaryStreamEvent {
+    private String type; // "token", "done", "error"
+    private String content; // potongan teks dari model (type token)
+    private AIGenerateResponse result; // hasil yang sudah di-parse dan disimpan (type done)
+    private String error;
+    
+    public static SummaryStreamEvent token(String content) {
+        return SummaryStreamEvent.builder().type("token").content(content).build();
+    }
+    
+    public static SummaryStreamEvent done(AIGenerateResponse result) {
+        return SummaryStreamEvent.builder().type("done").result(result).build();
+    }
+    
+    public static SummaryStreamEvent error(String message) {
+        return SummaryStreamEvent.builder().type("error").error(message).build();
+    }
+}
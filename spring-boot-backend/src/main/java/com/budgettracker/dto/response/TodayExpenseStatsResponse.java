@@ -12,7 +12,7 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class TodayExpenseStatsResponse {
     @JsonProperty("total_expense")
-    private Integer totalExpense;
+    private Long totalExpense;
     private Integer count;
 }
 
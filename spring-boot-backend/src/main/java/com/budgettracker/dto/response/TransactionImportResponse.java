@@ -0,0 +1,28 @@
+package com.budgettracker.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionImportResponse {
+    private Integer totalRows;
+    private Integer imported;
+    private Integer failed;
+    private List<RowError> errors;
+    private Boolean errorsTruncated; // true jika error lebih banyak dari yang dikirim
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private Integer row; // nomor baris data, mulai dari 1 (header CSV tidak dihitung)
+        private String message;
+    }
+}
@@ -0,0 +1,46 @@
+package com.budgettracker.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class YearOverYearResponse {
+    private Integer year;
+    private Integer previousYear;
+    private YearTotals current;
+    private YearTotals previous;
+    private BigDecimal incomeChange; // persen terhadap tahun sebelumnya, null jika tahun sebelumnya 0
+    private BigDecimal expenseChange;
+    private List<MonthComparison> months;
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class YearTotals {
+        private BigDecimal income;
+        private BigDecimal expense;
+        private BigDecimal balance;
+        private BigDecimal savingsRate;
+    }
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class MonthComparison {
+        private Integer month;
+        private BigDecimal income;
+        private BigDecimal previousIncome;
+        private BigDecimal expense;
+        private BigDecimal previousExpense;
+    }
+}
@@ -0,0 +1,38 @@
+package com.budgettracker.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(
+        name = "ai_summary_cache",
+        indexes = @Index(name = "idx_ai_summary_cache_created", columnList = "created_at")
+)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EntityListeners(AuditingEntityListener.class)
+public class AISummaryCache {
+    
+    @Id
+    @Column(name = "payload_hash", length = 64)
+    private String payloadHash;
+    
+    @Column(name = "model", length = 100)
+    private String model;
+    
+    @Column(name = "response_json", columnDefinition = "TEXT", nullable = false)
+    private String responseJson;
+    
+    @CreatedDate
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
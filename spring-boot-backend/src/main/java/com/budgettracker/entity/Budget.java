@@ -14,7 +14,10 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "budgets")
+@Table(
+        name = "budgets",
+        indexes = @Index(name = "idx_budgets_user_active_start", columnList = "user_id, is_active, period_start")
+)
 @Data
 @Builder
 @NoArgsConstructor
@@ -0,0 +1,28 @@
+package com.budgettracker.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "cache_versions")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheVersion {
+    
+    @Id
+    @Column(name = "name", length = 50)
+    private String name;
+    
+    @Column(name = "version", nullable = false)
+    private Long version;
+    
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
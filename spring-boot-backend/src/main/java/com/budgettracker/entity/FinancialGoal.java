@@ -14,7 +14,10 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "financial_goals")
+@Table(
+        name = "financial_goals",
+        indexes = @Index(name = "idx_goals_user_status_deadline", columnList = "user_id, status, deadline")
+)
 @Data
 @Builder
 @NoArgsConstructor
@@ -73,6 +76,11 @@ public class FinancialGoal {
     @Column(name = "icon", length = 50)
     private String icon; // Emoji atau icon name untuk UI
     
+    // Optimistic locking untuk update lewat entity; penambahan amount memakai UPDATE atomik di repository
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+    
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
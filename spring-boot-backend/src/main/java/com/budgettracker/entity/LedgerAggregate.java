@@ -0,0 +1,51 @@
+package com.budgettracker.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Entity
+@Table(
+        name = "ledger_aggregates",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_ledger_user_date_type_category",
+                columnNames = {"user_id", "entry_date", "type", "category_id"}),
+        indexes = @Index(name = "idx_ledger_user_period", columnList = "user_id, period")
+)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LedgerAggregate {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "user_id", nullable = false)
+    private Integer userId;
+    
+    @Column(name = "period", length = 7, nullable = false)
+    private String period; // "yyyy-MM"
+    
+    @Column(name = "entry_date", nullable = false)
+    private LocalDate entryDate;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false, length = 10)
+    private Transaction.TransactionType type;
+    
+    @Column(name = "category_id", nullable = false)
+    private Integer categoryId;
+    
+    @Column(name = "total_amount", nullable = false, precision = 15, scale = 2)
+    private BigDecimal totalAmount;
+    
+    @Column(name = "tx_count", nullable = false)
+    private Integer txCount;
+}
@@ -0,0 +1,46 @@
+package com.budgettracker.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Entity
+@Table(
+        name = "ledger_monthly_aggregates",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_ledger_monthly_user_period_type_category",
+                columnNames = {"user_id", "period", "type", "category_id"})
+)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LedgerMonthlyAggregate {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "user_id", nullable = false)
+    private Integer userId;
+    
+    @Column(name = "period", length = 7, nullable = false)
+    private String period; // "yyyy-MM"
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false, length = 10)
+    private Transaction.TransactionType type;
+    
+    @Column(name = "category_id", nullable = false)
+    private Integer categoryId;
+    
+    @Column(name = "total_amount", nullable = false, precision = 17, scale = 2)
+    private BigDecimal totalAmount;
+    
+    @Column(name = "tx_count", nullable = false)
+    private Integer txCount;
+}
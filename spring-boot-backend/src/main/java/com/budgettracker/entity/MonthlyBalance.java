@@ -0,0 +1,39 @@
+package com.budgettracker.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Entity
+@Table(
+        name = "monthly_balances",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_monthly_balances_user_period",
+                columnNames = {"user_id", "period"})
+)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthlyBalance {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "user_id", nullable = false)
+    private Integer userId;
+    
+    @Column(name = "period", length = 7, nullable = false)
+    private String period; // "yyyy-MM"
+    
+    @Column(name = "income", nullable = false, precision = 17, scale = 2)
+    private BigDecimal income;
+    
+    @Column(name = "expense", nullable = false, precision = 17, scale = 2)
+    private BigDecimal expense;
+}
@@ -1,6 +1,7 @@
 package com.budgettracker.entity;
 
 import jakarta.persistence.*;
+import com.budgettracker.util.MoneyUtil;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -9,10 +10,14 @@ import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "monthly_summaries")
+@Table(
+        name = "monthly_summaries",
+        indexes = @Index(name = "idx_summaries_user_created", columnList = "user_id, created_at")
+)
 @Data
 @Builder
 @NoArgsConstructor
@@ -34,14 +39,24 @@ public class MonthlySummary {
     @Column(name = "year", length = 4, nullable = false)
     private String year;
     
+    @Column(name = "total_income_value", precision = 15, scale = 2)
+    private BigDecimal totalIncome;
+    
+    @Column(name = "total_expense_value", precision = 15, scale = 2)
+    private BigDecimal totalExpense;
+    
+    @Column(name = "balance_value", precision = 15, scale = 2)
+    private BigDecimal balance;
+    
+    // Kolom VARCHAR lama, tetap ditulis selama masa migrasi (lihat MoneyColumnBackfillJob)
     @Column(name = "total_income", nullable = false)
-    private String totalIncome;
+    private String legacyTotalIncome;
     
     @Column(name = "total_expense", nullable = false)
-    private String totalExpense;
+    private String legacyTotalExpense;
     
     @Column(name = "balance", nullable = false)
-    private String balance;
+    private String legacyBalance;
     
     @Column(name = "ai_summary", columnDefinition = "TEXT")
     private String aiSummary;
@@ -59,5 +74,28 @@ public class MonthlySummary {
     @LastModifiedDate
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
+    
+    public BigDecimal getTotalIncome() {
+        return totalIncome != null ? totalIncome : MoneyUtil.parse(legacyTotalIncome);
+    }
+    
+    public BigDecimal getTotalExpense() {
+        return totalExpense != null ? totalExpense : MoneyUtil.parse(legacyTotalExpense);
+    }
+    
+    public BigDecimal getBalance() {
+        return balance != null ? balance : MoneyUtil.parse(legacyBalance);
+    }
+    
+    @PrePersist
+    @PreUpdate
+    void syncLegacyAmounts() {
+        totalIncome = getTotalIncome();
+        totalExpense = getTotalExpense();
+        balance = getBalance();
+        legacyTotalIncome = MoneyUtil.toPlainString(totalIncome);
+        legacyTotalExpense = MoneyUtil.toPlainString(totalExpense);
+        legacyBalance = MoneyUtil.toPlainString(balance);
+    }
 }
 
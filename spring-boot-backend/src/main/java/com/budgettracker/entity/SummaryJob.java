@@ -0,0 +1,67 @@
+package com.budgettracker.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(
+        name = "summary_jobs",
+        uniqueConstraints = @UniqueConstraint(name = "uk_summary_jobs_dedupe", columnNames = "dedupe_key"),
+        indexes = @Index(name = "idx_summary_jobs_status_created", columnList = "status, created_at")
+)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EntityListeners(AuditingEntityListener.class)
+public class SummaryJob {
+    
+    public enum JobStatus {
+        PENDING,
+        RUNNING,
+        DONE,
+        FAILED
+    }
+    
+    @Id
+    @Column(name = "id", length = 36)
+    private String id;
+    
+    @Column(name = "user_id", nullable = false)
+    private Integer userId;
+    
+    @Column(name = "period", length = 7, nullable = false)
+    private String period; // "yyyy-MM"
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 10)
+    private JobStatus status;
+    
+    // "userId:period" selama job PENDING/RUNNING, NULL setelah selesai.
+    // Unique key ini yang mencegah dua job berjalan untuk user dan bulan yang sama.
+    @Column(name = "dedupe_key", length = 32)
+    private String dedupeKey;
+    
+    @Column(name = "result_json", columnDefinition = "TEXT")
+    private String resultJson;
+    
+    @Column(name = "error", columnDefinition = "TEXT")
+    private String error;
+    
+    @CreatedDate
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+    
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+}
@@ -1,6 +1,7 @@
 package com.budgettracker.entity;
 
 import jakarta.persistence.*;
+import com.budgettracker.util.MoneyUtil;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -9,11 +10,20 @@ import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "transactions")
+@Table(
+        name = "transactions",
+        indexes = {
+                @Index(
+                        name = "idx_transactions_user_date_type_category_amount",
+                        columnList = "user_id, date, type, category_id, amount_value"),
+                @Index(name = "idx_transactions_user_date_id", columnList = "user_id, date, id")
+        }
+)
 @Data
 @Builder
 @NoArgsConstructor
@@ -29,8 +39,13 @@ public class Transaction {
     @Column(name = "type", nullable = false)
     private TransactionType type;
     
+    @Column(name = "amount_value", precision = 15, scale = 2)
+    private BigDecimal amount;
+    
+    // Kolom VARCHAR lama. Tetap ditulis selama masa migrasi supaya rollback ke versi lama aman;
+    // baris lama yang belum di-backfill dibaca dari sini (lihat MoneyColumnBackfillJob)
     @Column(name = "amount", nullable = false)
-    private String amount;
+    private String legacyAmount;
     
     @Column(name = "date", nullable = false)
     private LocalDate date;
@@ -57,5 +72,19 @@ public class Transaction {
     public enum TransactionType {
         INCOME, EXPENSE
     }
+    
+    public BigDecimal getAmount() {
+        if (amount == null && legacyAmount != null) {
+            return MoneyUtil.parse(legacyAmount);
+        }
+        return amount;
+    }
+    
+    @PrePersist
+    @PreUpdate
+    void syncLegacyAmount() {
+        amount = getAmount();
+        legacyAmount = MoneyUtil.toPlainString(amount);
+    }
 }
 
@@ -0,0 +1,7 @@
+package com.budgettracker.exception;
+
+public class ConflictException extends HttpException {
+    public ConflictException(String message) {
+        super(message, 409); // 409 CONFLICT
+    }
+}
@@ -0,0 +1,7 @@
+package com.budgettracker.exception;
+
+public class QueryBudgetExceededException extends HttpException {
+    public QueryBudgetExceededException(String message) {
+        super(message, 500); // 500 INTERNAL_SERVER_ERROR
+    }
+}
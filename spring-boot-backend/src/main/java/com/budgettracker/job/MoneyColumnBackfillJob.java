@@ -0,0 +1,108 @@
+package com.budgettracker.job;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Mengisi kolom uang DECIMAL(15,2) dari kolom VARCHAR lama, satu rentang id per tick.
+// Baris baru sudah ditulis ke kedua kolom oleh entity; setelah restart job lanjut dari baris pertama yang belum terisi.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MoneyColumnBackfillJob {
+    
+    private static final List<BackfillTarget> TARGETS = List.of(
+            new BackfillTarget(
+                    "transactions",
+                    "amount_value = CAST(amount AS DECIMAL(15,2))",
+                    "amount_value IS NULL"),
+            new BackfillTarget(
+                    "monthly_summaries",
+                    "total_income_value = CAST(total_income AS DECIMAL(15,2)), " +
+                    "total_expense_value = CAST(total_expense AS DECIMAL(15,2)), " +
+                    "balance_value = CAST(balance AS DECIMAL(15,2))",
+                    "total_income_value IS NULL OR total_expense_value IS NULL OR balance_value IS NULL")
+    );
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    @Value("${migration.money-backfill.batch-size:1000}")
+    private int batchSize;
+    
+    @Value("${migration.money-backfill.enabled:true}")
+    private boolean enabled;
+    
+    // Posisi (id berikutnya) dan batas atas per tabel
+    private final Map<String, long[]> cursors = new ConcurrentHashMap<>();
+    private volatile boolean completed = false;
+    
+    @Scheduled(
+            initialDelayString = "${migration.money-backfill.initial-delay-ms:10000}",
+            fixedDelayString = "${migration.money-backfill.delay-ms:1000}")
+    public void backfillNextBatch() {
+        if (!enabled || completed) {
+            return;
+        }
+        
+        boolean remaining = false;
+        for (BackfillTarget target : TARGETS) {
+            try {
+                remaining |= backfill(target);
+            } catch (Exception e) {
+                // Coba lagi pada tick berikutnya
+                log.warn("Money column backfill for {} failed: {}", target.table(), e.getMessage());
+                remaining = true;
+            }
+        }
+        
+        if (!remaining) {
+            completed = true;
+            log.info("Money column backfill completed");
+        }
+    }
+    
+    private boolean backfill(BackfillTarget target) {
+        long[] cursor = cursors.computeIfAbsent(target.table(), table -> startCursor(target));
+        if (cursor[0] > cursor[1]) {
+            return false;
+        }
+        
+        long from = cursor[0];
+        long to = Math.min(from + batchSize - 1, cursor[1]);
+        
+        int updated = jdbcTemplate.update(
+                "UPDATE " + target.table() + " SET " + target.assignments() +
+                " WHERE id BETWEEN ? AND ? AND (" + target.pendingCondition() + ")",
+                from, to);
+        cursor[0] = to + 1;
+        
+        log.debug("Backfilled {} rows of {} (id {}-{})", updated, target.table(), from, to);
+        return cursor[0] <= cursor[1];
+    }
+    
+    private long[] startCursor(BackfillTarget target) {
+        // Satu kali scan saat start untuk melanjutkan dari baris pertama yang belum terisi
+        Map<String, Object> bounds = jdbcTemplate.queryForMap(
+                "SELECT MIN(id) AS first_id, MAX(id) AS last_id FROM " + target.table() +
+                " WHERE " + target.pendingCondition());
+        Number first = (Number) bounds.get("first_id");
+        Number last = (Number) bounds.get("last_id");
+        
+        if (first == null || last == null) {
+            return new long[]{1, 0};
+        }
+        
+        log.info("Starting money column backfill for {} (id {}-{})", target.table(), first, last);
+        return new long[]{first.longValue(), last.longValue()};
+    }
+    
+    private record BackfillTarget(String table, String assignments, String pendingCondition) {
+    }
+}
@@ -0,0 +1,116 @@
+package com.budgettracker.job;
+
+import com.budgettracker.dto.response.AIGenerateResponse;
+import com.budgettracker.entity.SummaryJob;
+import com.budgettracker.exception.HttpException;
+import com.budgettracker.repository.SummaryJobRepository;
+import com.budgettracker.service.MonthlySummaryService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+// Menjalankan job dari tabel summary_jobs dengan jumlah worker terbatas (virtual thread).
+// Job diklaim lewat UPDATE bersyarat, jadi aman dijalankan di beberapa instance sekaligus.
+@Component
+@Slf4j
+public class SummaryJobWorker {
+    
+    private final SummaryJobRepository summaryJobRepository;
+    private final MonthlySummaryService monthlySummaryService;
+    private final ObjectMapper objectMapper;
+    
+    private final Semaphore slots;
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("summary-job-", 0).factory());
+    
+    @Value("${summary.jobs.stale-after-minutes:10}")
+    private long staleAfterMinutes;
+    
+    @Value("${summary.jobs.retention-hours:24}")
+    private long retentionHours;
+    
+    public SummaryJobWorker(
+            SummaryJobRepository summaryJobRepository,
+            MonthlySummaryService monthlySummaryService,
+            ObjectMapper objectMapper,
+            @Value("${summary.jobs.workers:4}") int workers) {
+        this.summaryJobRepository = summaryJobRepository;
+        this.monthlySummaryService = monthlySummaryService;
+        this.objectMapper = objectMapper;
+        this.slots = new Semaphore(workers);
+    }
+    
+    // Dipanggil setelah enqueue supaya job baru tidak menunggu tick berikutnya
+    public void trigger() {
+        executor.execute(this::dispatch);
+    }
+    
+    @Scheduled(fixedDelayString = "${summary.jobs.poll-delay-ms:1000}")
+    public void dispatch() {
+        int free = slots.availablePermits();
+        if (free == 0) {
+            return;
+        }
+        
+        List<String> pendingIds = summaryJobRepository.findPendingIds(PageRequest.of(0, free));
+        for (String jobId : pendingIds) {
+            if (!slots.tryAcquire()) {
+                return;
+            }
+            if (summaryJobRepository.claim(jobId, LocalDateTime.now()) == 0) {
+                // Sudah diambil worker lain
+                slots.release();
+                continue;
+            }
+            executor.execute(() -> {
+                try {
+                    run(jobId);
+                } finally {
+                    slots.release();
+                }
+            });
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${summary.jobs.maintenance-delay-ms:60000}")
+    public void maintain() {
+        LocalDateTime now = LocalDateTime.now();
+        int requeued = summaryJobRepository.requeueStale(now.minusMinutes(staleAfterMinutes));
+        if (requeued > 0) {
+            log.warn("Requeued {} stale summary jobs", requeued);
+        }
+        summaryJobRepository.deleteFinishedBefore(now.minusHours(retentionHours));
+    }
+    
+    private void run(String jobId) {
+        SummaryJob job = summaryJobRepository.findById(jobId).orElse(null);
+        if (job == null) {
+            return;
+        }
+        
+        try {
+            AIGenerateResponse result = monthlySummaryService.generateAsync(job.getUserId()).block();
+            summaryJobRepository.markDone(jobId, objectMapper.writeValueAsString(result), LocalDateTime.now());
+            log.info("Summary job {} for user {} done", jobId, job.getUserId());
+        } catch (Exception e) {
+            log.error("Summary job {} for user {} failed: {}", jobId, job.getUserId(), e.getMessage());
+            String error = e instanceof HttpException ? e.getMessage() : "Terjadi kesalahan pada server";
+            summaryJobRepository.markFailed(jobId, error, LocalDateTime.now());
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -2,6 +2,7 @@ package com.budgettracker.mapper;
 
 import com.budgettracker.dto.response.MonthlySummaryResponse;
 import com.budgettracker.entity.MonthlySummary;
+import com.budgettracker.util.MoneyUtil;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -15,9 +16,9 @@ public class MonthlySummaryMapper {
                 .userId(summary.getUser() != null ? summary.getUser().getId() : null)
                 .month(summary.getMonth())
                 .year(summary.getYear())
-                .totalIncome(summary.getTotalIncome())
-                .totalExpense(summary.getTotalExpense())
-                .balance(summary.getBalance())
+                .totalIncome(MoneyUtil.toPlainString(summary.getTotalIncome()))
+                .totalExpense(MoneyUtil.toPlainString(summary.getTotalExpense()))
+                .balance(MoneyUtil.toPlainString(summary.getBalance()))
                 .aiSummary(summary.getAiSummary())
                 .aiRecomendation(summary.getAiRecomendation())
                 .aiTrendAnalysis(summary.getAiTrendAnalysis())
@@ -4,6 +4,7 @@ import com.budgettracker.dto.response.CategoryResponse;
 import com.budgettracker.dto.response.TransactionResponse;
 import com.budgettracker.dto.response.UserResponse;
 import com.budgettracker.entity.Transaction;
+import com.budgettracker.util.MoneyUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -35,7 +36,7 @@ public class TransactionMapper {
         return TransactionResponse.builder()
                 .id(transaction.getId())
                 .type(typeString)
-                .amount(transaction.getAmount())
+                .amount(MoneyUtil.toPlainString(transaction.getAmount()))
                 .date(transaction.getDate())
                 .note(transaction.getNote())
                 .userId(transaction.getUser() != null ? transaction.getUser().getId() : null)
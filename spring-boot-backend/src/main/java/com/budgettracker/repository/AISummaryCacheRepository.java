@@ -0,0 +1,20 @@
+package com.budgettracker.repository;
+
+import com.budgettracker.entity.AISummaryCache;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface AISummaryCacheRepository extends JpaRepository<AISummaryCache, String> {
+    
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM AISummaryCache c WHERE c.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
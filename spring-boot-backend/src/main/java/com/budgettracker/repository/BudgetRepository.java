@@ -15,7 +15,9 @@ public interface BudgetRepository extends JpaRepository<Budget, Integer> {
     
     List<Budget> findByUserIdAndIsActiveTrue(Integer userId);
     
-    @Query("SELECT b FROM Budget b WHERE b.user.id = :userId " +
+    @Query("SELECT b FROM Budget b " +
+           "LEFT JOIN FETCH b.category " +
+           "WHERE b.user.id = :userId " +
            "AND b.isActive = true " +
            "AND b.periodStart <= :date " +
            "AND (b.periodEnd IS NULL OR b.periodEnd >= :date)")
@@ -35,7 +37,10 @@ public interface BudgetRepository extends JpaRepository<Budget, Integer> {
         @Param("date") LocalDate date
     );
     
-    List<Budget> findByUserId(Integer userId);
+    @Query("SELECT b FROM Budget b " +
+           "LEFT JOIN FETCH b.category " +
+           "WHERE b.user.id = :userId")
+    List<Budget> findByUserId(@Param("userId") Integer userId);
 }
 
 
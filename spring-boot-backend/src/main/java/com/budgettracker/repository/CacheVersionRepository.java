@@ -0,0 +1,23 @@
+package com.budgettracker.repository;
+
+import com.budgettracker.entity.CacheVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface CacheVersionRepository extends JpaRepository<CacheVersion, String> {
+    
+    @Query("SELECT c.version FROM CacheVersion c WHERE c.name = :name")
+    Optional<Long> findVersion(@Param("name") String name);
+    
+    // Atomic di database, jadi dua node yang mengubah data bersamaan tetap menghasilkan versi berbeda
+    @Modifying
+    @Query("UPDATE CacheVersion c SET c.version = c.version + 1, c.updatedAt = :now WHERE c.name = :name")
+    int increment(@Param("name") String name, @Param("now") LocalDateTime now);
+}
@@ -2,10 +2,12 @@ package com.budgettracker.repository;
 
 import com.budgettracker.entity.FinancialGoal;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -30,6 +32,32 @@ public interface FinancialGoalRepository extends JpaRepository<FinancialGoal, In
            "AND fg.status = 'COMPLETED' " +
            "ORDER BY fg.updatedAt DESC")
     List<FinancialGoal> findCompletedGoalsByUserId(@Param("userId") Integer userId);
+    
+    // Urut id supaya transaksi yang mengupdate goal yang sama selalu mengunci baris dengan urutan sama (tanpa deadlock)
+    @Query("SELECT fg.id FROM FinancialGoal fg WHERE fg.user.id = :userId " +
+           "AND fg.status = :status " +
+           "AND fg.deadline >= :today " +
+           "ORDER BY fg.id ASC")
+    List<Integer> findActiveGoalIdsByUserId(
+        @Param("userId") Integer userId,
+        @Param("status") FinancialGoal.GoalStatus status,
+        @Param("today") LocalDate today
+    );
+    
+    // Read-modify-write dalam satu statement. MySQL mengevaluasi SET dari kiri ke kanan dengan nilai yang
+    // sudah diubah, jadi status harus dihitung sebelum current_amount di-cap ke target.
+    // Entity goal yang sudah ada di persistence context tidak ikut berubah; baca ulang setelah update.
+    @Modifying
+    @Query(value = "UPDATE financial_goals SET " +
+                   "status = CASE WHEN current_amount + :amount >= target_amount THEN 'COMPLETED' ELSE status END, " +
+                   "current_amount = LEAST(target_amount, current_amount + :amount), " +
+                   "version = version + 1, " +
+                   "updated_at = NOW(6) " +
+                   "WHERE id = :id AND user_id = :userId AND status = 'ACTIVE'",
+           nativeQuery = true)
+    int addToCurrentAmount(
+        @Param("id") Integer id,
+        @Param("userId") Integer userId,
+        @Param("amount") BigDecimal amount
+    );
 }
-
-
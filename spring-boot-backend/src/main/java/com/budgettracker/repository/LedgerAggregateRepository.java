@@ -0,0 +1,120 @@
+package com.budgettracker.repository;
+
+import com.budgettracker.entity.LedgerAggregate;
+import com.budgettracker.entity.Transaction;
+import com.budgettracker.repository.projection.CategoryDailyTotal;
+import com.budgettracker.repository.projection.CategoryTypeTotal;
+import com.budgettracker.repository.projection.DailyTypeTotal;
+import com.budgettracker.repository.projection.TypeTotal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface LedgerAggregateRepository extends JpaRepository<LedgerAggregate, Long> {
+    
+    @Modifying
+    @Query(value = "INSERT INTO ledger_aggregates " +
+                   "(user_id, period, entry_date, type, category_id, total_amount, tx_count) " +
+                   "VALUES (:userId, :period, :entryDate, :type, :categoryId, :amount, :countDelta) " +
+                   "ON DUPLICATE KEY UPDATE " +
+                   "total_amount = total_amount + VALUES(total_amount), " +
+                   "tx_count = tx_count + VALUES(tx_count)",
+           nativeQuery = true)
+    int upsert(
+        @Param("userId") Integer userId,
+        @Param("period") String period,
+        @Param("entryDate") LocalDate entryDate,
+        @Param("type") String type,
+        @Param("categoryId") Integer categoryId,
+        @Param("amount") BigDecimal amount,
+        @Param("countDelta") int countDelta
+    );
+    
+    @Modifying
+    @Query("DELETE FROM LedgerAggregate l WHERE l.userId = :userId " +
+           "AND l.entryDate = :entryDate " +
+           "AND l.type = :type " +
+           "AND l.categoryId = :categoryId " +
+           "AND l.txCount <= 0")
+    int deleteIfEmpty(
+        @Param("userId") Integer userId,
+        @Param("entryDate") LocalDate entryDate,
+        @Param("type") Transaction.TransactionType type,
+        @Param("categoryId") Integer categoryId
+    );
+    
+    @Query("SELECT l.type AS type, SUM(l.totalAmount) AS total, SUM(l.txCount) AS txCount " +
+           "FROM LedgerAggregate l " +
+           "WHERE l.userId = :userId " +
+           "AND l.entryDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY l.type")
+    List<TypeTotal> sumByTypeBetween(
+        @Param("userId") Integer userId,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate
+    );
+    
+    @Query("SELECT l.entryDate AS entryDate, l.type AS type, SUM(l.totalAmount) AS total " +
+           "FROM LedgerAggregate l " +
+           "WHERE l.userId = :userId " +
+           "AND l.entryDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY l.entryDate, l.type " +
+           "ORDER BY l.entryDate")
+    List<DailyTypeTotal> sumByDayAndTypeBetween(
+        @Param("userId") Integer userId,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate
+    );
+    
+    @Query("SELECT l.type AS type, l.categoryId AS categoryId, SUM(l.totalAmount) AS total, SUM(l.txCount) AS txCount " +
+           "FROM LedgerAggregate l " +
+           "WHERE l.userId = :userId " +
+           "AND l.entryDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY l.type, l.categoryId")
+    List<CategoryTypeTotal> sumByCategoryBetween(
+        @Param("userId") Integer userId,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate
+    );
+    
+    @Query("SELECT l.categoryId AS categoryId, l.entryDate AS entryDate, SUM(l.totalAmount) AS total " +
+           "FROM LedgerAggregate l " +
+           "WHERE l.userId = :userId " +
+           "AND l.type = :type " +
+           "AND l.entryDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY l.categoryId, l.entryDate " +
+           "ORDER BY l.entryDate")
+    List<CategoryDailyTotal> sumByCategoryAndDayBetween(
+        @Param("userId") Integer userId,
+        @Param("type") Transaction.TransactionType type,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate
+    );
+    
+    @Query("SELECT COALESCE(SUM(l.txCount), 0) FROM LedgerAggregate l " +
+           "WHERE l.userId = :userId " +
+           "AND (:type IS NULL OR l.type = :type)")
+    Long countTransactions(
+        @Param("userId") Integer userId,
+        @Param("type") Transaction.TransactionType type
+    );
+    
+    // Bangun ulang seluruh agregat dari tabel transactions (dipakai saat tabel agregat masih kosong)
+    @Modifying
+    @Query(value = "INSERT INTO ledger_aggregates " +
+                   "(user_id, period, entry_date, type, category_id, total_amount, tx_count) " +
+                   "SELECT user_id, DATE_FORMAT(date, '%Y-%m'), date, type, category_id, " +
+                   "SUM(COALESCE(amount_value, CAST(amount AS DECIMAL(15,2)))), COUNT(*) " +
+                   "FROM transactions " +
+                   "GROUP BY user_id, date, type, category_id",
+           nativeQuery = true)
+    int rebuildAll();
+}
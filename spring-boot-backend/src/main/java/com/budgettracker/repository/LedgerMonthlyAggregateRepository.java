@@ -0,0 +1,83 @@
+package com.budgettracker.repository;
+
+import com.budgettracker.entity.LedgerMonthlyAggregate;
+import com.budgettracker.entity.Transaction;
+import com.budgettracker.repository.projection.CategoryTypeTotal;
+import com.budgettracker.repository.projection.PeriodTypeTotal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public interface LedgerMonthlyAggregateRepository extends JpaRepository<LedgerMonthlyAggregate, Long> {
+    
+    @Modifying
+    @Query(value = "INSERT INTO ledger_monthly_aggregates " +
+                   "(user_id, period, type, category_id, total_amount, tx_count) " +
+                   "VALUES (:userId, :period, :type, :categoryId, :amount, :countDelta) " +
+                   "ON DUPLICATE KEY UPDATE " +
+                   "total_amount = total_amount + VALUES(total_amount), " +
+                   "tx_count = tx_count + VALUES(tx_count)",
+           nativeQuery = true)
+    int upsert(
+        @Param("userId") Integer userId,
+        @Param("period") String period,
+        @Param("type") String type,
+        @Param("categoryId") Integer categoryId,
+        @Param("amount") BigDecimal amount,
+        @Param("countDelta") int countDelta
+    );
+    
+    @Modifying
+    @Query("DELETE FROM LedgerMonthlyAggregate l WHERE l.userId = :userId " +
+           "AND l.period = :period " +
+           "AND l.type = :type " +
+           "AND l.categoryId = :categoryId " +
+           "AND l.txCount <= 0")
+    int deleteIfEmpty(
+        @Param("userId") Integer userId,
+        @Param("period") String period,
+        @Param("type") Transaction.TransactionType type,
+        @Param("categoryId") Integer categoryId
+    );
+    
+    // Period "yyyy-MM" bisa dibandingkan sebagai string
+    @Query("SELECT l.type AS type, l.categoryId AS categoryId, SUM(l.totalAmount) AS total, SUM(l.txCount) AS txCount " +
+           "FROM LedgerMonthlyAggregate l " +
+           "WHERE l.userId = :userId " +
+           "AND l.period BETWEEN :startPeriod AND :endPeriod " +
+           "GROUP BY l.type, l.categoryId")
+    List<CategoryTypeTotal> sumByCategoryBetween(
+        @Param("userId") Integer userId,
+        @Param("startPeriod") String startPeriod,
+        @Param("endPeriod") String endPeriod
+    );
+    
+    @Query("SELECT l.period AS period, l.type AS type, SUM(l.totalAmount) AS total " +
+           "FROM LedgerMonthlyAggregate l " +
+           "WHERE l.userId = :userId " +
+           "AND l.period BETWEEN :startPeriod AND :endPeriod " +
+           "AND (:categoryId IS NULL OR l.categoryId = :categoryId) " +
+           "GROUP BY l.period, l.type " +
+           "ORDER BY l.period")
+    List<PeriodTypeTotal> sumByPeriodAndTypeBetween(
+        @Param("userId") Integer userId,
+        @Param("startPeriod") String startPeriod,
+        @Param("endPeriod") String endPeriod,
+        @Param("categoryId") Integer categoryId
+    );
+    
+    @Modifying
+    @Query(value = "INSERT INTO ledger_monthly_aggregates " +
+                   "(user_id, period, type, category_id, total_amount, tx_count) " +
+                   "SELECT user_id, period, type, category_id, SUM(total_amount), SUM(tx_count) " +
+                   "FROM ledger_aggregates " +
+                   "GROUP BY user_id, period, type, category_id",
+           nativeQuery = true)
+    int rebuildAll();
+}
@@ -0,0 +1,66 @@
+package com.budgettracker.repository;
+
+import com.budgettracker.entity.MonthlyBalance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface MonthlyBalanceRepository extends JpaRepository<MonthlyBalance, Long> {
+    
+    @Modifying
+    @Query(value = "INSERT INTO monthly_balances (user_id, period, income, expense) " +
+                   "VALUES (:userId, :period, :income, :expense) " +
+                   "ON DUPLICATE KEY UPDATE " +
+                   "income = income + VALUES(income), " +
+                   "expense = expense + VALUES(expense)",
+           nativeQuery = true)
+    int upsert(
+        @Param("userId") Integer userId,
+        @Param("period") String period,
+        @Param("income") BigDecimal income,
+        @Param("expense") BigDecimal expense
+    );
+    
+    // 0 baris: income bulan itu tidak cukup (atau baris bulan itu belum ada)
+    @Modifying
+    @Query(value = "UPDATE monthly_balances SET expense = expense + :amount " +
+                   "WHERE user_id = :userId AND period = :period " +
+                   "AND income >= expense + :amount",
+           nativeQuery = true)
+    int addExpenseIfCovered(
+        @Param("userId") Integer userId,
+        @Param("period") String period,
+        @Param("amount") BigDecimal amount
+    );
+    
+    // 0 baris: sisa income tidak lagi menutup expense bulan itu (atau baris bulan itu tidak ada)
+    @Modifying
+    @Query(value = "UPDATE monthly_balances SET income = income - :amount " +
+                   "WHERE user_id = :userId AND period = :period " +
+                   "AND income - :amount >= expense",
+           nativeQuery = true)
+    int removeIncomeIfCovered(
+        @Param("userId") Integer userId,
+        @Param("period") String period,
+        @Param("amount") BigDecimal amount
+    );
+    
+    List<MonthlyBalance> findByUserIdAndPeriodIn(Integer userId, Collection<String> periods);
+    
+    @Modifying
+    @Query(value = "INSERT INTO monthly_balances (user_id, period, income, expense) " +
+                   "SELECT user_id, period, " +
+                   "SUM(CASE WHEN type = 'INCOME' THEN total_amount ELSE 0 END), " +
+                   "SUM(CASE WHEN type = 'EXPENSE' THEN total_amount ELSE 0 END) " +
+                   "FROM ledger_monthly_aggregates " +
+                   "GROUP BY user_id, period",
+           nativeQuery = true)
+    int rebuildAll();
+}
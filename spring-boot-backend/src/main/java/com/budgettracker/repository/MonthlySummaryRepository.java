@@ -7,6 +7,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -37,5 +38,17 @@ public interface MonthlySummaryRepository extends JpaRepository<MonthlySummary,
         @Param("startOfDay") LocalDateTime startOfDay,
         @Param("endOfDay") LocalDateTime endOfDay
     );
+    
+    @Query("SELECT m FROM MonthlySummary m WHERE m.user.id = :userId AND m.id IN :ids")
+    List<MonthlySummary> findAllByUserIdAndIdIn(
+        @Param("userId") Integer userId,
+        @Param("ids") Collection<Integer> ids
+    );
+    
+    @Query("SELECT m FROM MonthlySummary m WHERE m.user.id = :userId AND m.year = :year " +
+           "ORDER BY m.createdAt ASC")
+    List<MonthlySummary> findAllByUserIdAndYear(
+        @Param("userId") Integer userId,
+        @Param("year") String year
+    );
 }
-
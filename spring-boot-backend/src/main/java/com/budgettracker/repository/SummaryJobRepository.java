@@ -0,0 +1,65 @@
+package com.budgettracker.repository;
+
+import com.budgettracker.entity.SummaryJob;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SummaryJobRepository extends JpaRepository<SummaryJob, String> {
+    
+    Optional<SummaryJob> findByDedupeKey(String dedupeKey);
+    
+    Optional<SummaryJob> findByIdAndUserId(String id, Integer userId);
+    
+    @Query("SELECT j.id FROM SummaryJob j " +
+           "WHERE j.status = com.budgettracker.entity.SummaryJob$JobStatus.PENDING " +
+           "ORDER BY j.createdAt")
+    List<String> findPendingIds(Pageable pageable);
+    
+    // Klaim atomik: hanya satu worker (juga antar instance) yang mendapat 1 baris terupdate
+    @Transactional
+    @Modifying
+    @Query("UPDATE SummaryJob j SET j.status = com.budgettracker.entity.SummaryJob$JobStatus.RUNNING, " +
+           "j.startedAt = :now " +
+           "WHERE j.id = :id AND j.status = com.budgettracker.entity.SummaryJob$JobStatus.PENDING")
+    int claim(@Param("id") String id, @Param("now") LocalDateTime now);
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE SummaryJob j SET j.status = com.budgettracker.entity.SummaryJob$JobStatus.DONE, " +
+           "j.resultJson = :resultJson, j.dedupeKey = NULL, j.finishedAt = :now " +
+           "WHERE j.id = :id")
+    int markDone(@Param("id") String id, @Param("resultJson") String resultJson, @Param("now") LocalDateTime now);
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE SummaryJob j SET j.status = com.budgettracker.entity.SummaryJob$JobStatus.FAILED, " +
+           "j.error = :error, j.dedupeKey = NULL, j.finishedAt = :now " +
+           "WHERE j.id = :id")
+    int markFailed(@Param("id") String id, @Param("error") String error, @Param("now") LocalDateTime now);
+    
+    // Job RUNNING yang ditinggal instance yang mati dikembalikan ke antrian
+    @Transactional
+    @Modifying
+    @Query("UPDATE SummaryJob j SET j.status = com.budgettracker.entity.SummaryJob$JobStatus.PENDING, " +
+           "j.startedAt = NULL " +
+           "WHERE j.status = com.budgettracker.entity.SummaryJob$JobStatus.RUNNING AND j.startedAt < :cutoff")
+    int requeueStale(@Param("cutoff") LocalDateTime cutoff);
+    
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM SummaryJob j " +
+           "WHERE j.status IN (com.budgettracker.entity.SummaryJob$JobStatus.DONE, " +
+           "com.budgettracker.entity.SummaryJob$JobStatus.FAILED) " +
+           "AND j.finishedAt < :cutoff")
+    int deleteFinishedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
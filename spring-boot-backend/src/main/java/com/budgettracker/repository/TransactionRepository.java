@@ -1,55 +1,155 @@
 package com.budgettracker.repository;
 
 import com.budgettracker.entity.Transaction;
+import com.budgettracker.repository.projection.SearchHit;
+import com.budgettracker.repository.projection.TransactionExportRow;
+import com.budgettracker.repository.projection.TypeTotal;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Integer> {
     
-    @Query("SELECT t FROM Transaction t " +
+    // categoryIds = kategori yang namanya cocok dengan search (dari cache kategori), jadi filter
+    // tidak perlu join ke tabel categories
+    @Query(value = "SELECT t FROM Transaction t " +
            "LEFT JOIN FETCH t.category " +
            "LEFT JOIN FETCH t.user " +
            "WHERE t.user.id = :userId " +
            "AND (LOWER(t.note) LIKE LOWER(CONCAT('%', :search, '%')) " +
-           "OR LOWER(t.category.name) LIKE LOWER(CONCAT('%', :search, '%')))")
+           "OR t.category.id IN :categoryIds)",
+           countQuery = "SELECT COUNT(t) FROM Transaction t " +
+           "WHERE t.user.id = :userId " +
+           "AND (LOWER(t.note) LIKE LOWER(CONCAT('%', :search, '%')) " +
+           "OR t.category.id IN :categoryIds)")
     Page<Transaction> findByUserIdWithSearch(
         @Param("userId") Integer userId, 
         @Param("search") String search, 
+        @Param("categoryIds") List<Integer> categoryIds,
         Pageable pageable
     );
     
-    @Query("SELECT t FROM Transaction t " +
+    @Query(value = "SELECT t FROM Transaction t " +
            "LEFT JOIN FETCH t.category " +
            "LEFT JOIN FETCH t.user " +
            "WHERE t.user.id = :userId " +
            "AND (LOWER(t.note) LIKE LOWER(CONCAT('%', :search, '%')) " +
-           "OR LOWER(t.category.name) LIKE LOWER(CONCAT('%', :search, '%'))) " +
+           "OR t.category.id IN :categoryIds) " +
+           "AND t.type = :type",
+           countQuery = "SELECT COUNT(t) FROM Transaction t " +
+           "WHERE t.user.id = :userId " +
+           "AND (LOWER(t.note) LIKE LOWER(CONCAT('%', :search, '%')) " +
+           "OR t.category.id IN :categoryIds) " +
            "AND t.type = :type")
     Page<Transaction> findByUserIdWithSearchAndType(
         @Param("userId") Integer userId, 
         @Param("search") String search,
+        @Param("categoryIds") List<Integer> categoryIds,
         @Param("type") Transaction.TransactionType type,
         Pageable pageable
     );
     
+    // Export: kolom skalar saja (tanpa entity di persistence context) dan fetch size Integer.MIN_VALUE,
+    // yang membuat driver MySQL men-stream baris satu per satu alih-alih memuat seluruh result set.
+    // Selama stream terbuka, koneksi yang sama tidak bisa dipakai untuk query lain.
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT t.id AS id, t.type AS type, t.amount AS amount, t.legacyAmount AS legacyAmount, " +
+           "t.date AS date, t.note AS note, t.category.id AS categoryId " +
+           "FROM Transaction t " +
+           "WHERE t.user.id = :userId " +
+           "AND t.date BETWEEN :startDate AND :endDate " +
+           "AND (:type IS NULL OR t.type = :type) " +
+           "ORDER BY t.date, t.id")
+    Stream<TransactionExportRow> streamForExport(
+        @Param("userId") Integer userId,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate,
+        @Param("type") Transaction.TransactionType type
+    );
+    
+    // Pencarian lewat FULLTEXT index: satu halaman id yang cocok diurutkan berdasarkan relevansi note,
+    // lalu tanggal terbaru. Transaksi dari kategori yang namanya cocok ikut dengan skor 0.
+    // COUNT(*) OVER() dihitung sebelum LIMIT, jadi setiap baris membawa total hasil tanpa MATCH kedua;
+    // setelah GROUP BY, transaksi yang cocok di note dan kategori dihitung sekali
+    @Query(value = "SELECT m.id AS id, COUNT(*) OVER() AS total FROM (" +
+           "SELECT t.id, t.date, MATCH(t.note) AGAINST (:query IN BOOLEAN MODE) AS score " +
+           "FROM transactions t " +
+           "WHERE MATCH(t.note) AGAINST (:query IN BOOLEAN MODE) " +
+           "AND t.user_id = :userId " +
+           "AND (:type IS NULL OR t.type = :type) " +
+           "UNION ALL " +
+           "SELECT t.id, t.date, 0 AS score " +
+           "FROM transactions t " +
+           "WHERE t.user_id = :userId " +
+           "AND t.category_id IN (:categoryIds) " +
+           "AND (:type IS NULL OR t.type = :type)" +
+           ") m " +
+           "GROUP BY m.id, m.date " +
+           "ORDER BY MAX(m.score) DESC, m.date DESC, m.id DESC " +
+           "LIMIT :limit OFFSET :offset",
+           nativeQuery = true)
+    List<SearchHit> searchIdsWithCategories(
+        @Param("userId") Integer userId,
+        @Param("query") String query,
+        @Param("categoryIds") List<Integer> categoryIds,
+        @Param("type") String type,
+        @Param("limit") int limit,
+        @Param("offset") int offset
+    );
+    
+    @Query(value = "SELECT t.id AS id, COUNT(*) OVER() AS total FROM transactions t " +
+           "WHERE MATCH(t.note) AGAINST (:query IN BOOLEAN MODE) " +
+           "AND t.user_id = :userId " +
+           "AND (:type IS NULL OR t.type = :type) " +
+           "ORDER BY MATCH(t.note) AGAINST (:query IN BOOLEAN MODE) DESC, t.date DESC, t.id DESC " +
+           "LIMIT :limit OFFSET :offset",
+           nativeQuery = true)
+    List<SearchHit> searchIds(
+        @Param("userId") Integer userId,
+        @Param("query") String query,
+        @Param("type") String type,
+        @Param("limit") int limit,
+        @Param("offset") int offset
+    );
+    
     @Query("SELECT t FROM Transaction t " +
            "LEFT JOIN FETCH t.category " +
            "LEFT JOIN FETCH t.user " +
-           "WHERE t.user.id = :userId")
-    Page<Transaction> findByUserId(Integer userId, Pageable pageable);
+           "WHERE t.id IN :ids")
+    List<Transaction> findAllByIdWithRelations(@Param("ids") List<Integer> ids);
     
-    @Query("SELECT t FROM Transaction t " +
+    @Query(value = "SELECT t FROM Transaction t " +
+           "LEFT JOIN FETCH t.category " +
+           "LEFT JOIN FETCH t.user " +
+           "WHERE t.user.id = :userId",
+           countQuery = "SELECT COUNT(t) FROM Transaction t WHERE t.user.id = :userId")
+    Page<Transaction> findByUserId(@Param("userId") Integer userId, Pageable pageable);
+    
+    @Query(value = "SELECT t FROM Transaction t " +
            "LEFT JOIN FETCH t.category " +
            "LEFT JOIN FETCH t.user " +
            "WHERE t.user.id = :userId " +
+           "AND t.type = :type",
+           countQuery = "SELECT COUNT(t) FROM Transaction t " +
+           "WHERE t.user.id = :userId " +
            "AND t.type = :type")
     Page<Transaction> findByUserIdAndType(
         @Param("userId") Integer userId,
@@ -57,36 +157,53 @@ public interface TransactionRepository extends JpaRepository<Transaction, Intege
         Pageable pageable
     );
     
+    // Keyset pagination: urutan (date DESC, id DESC), tanpa OFFSET dan tanpa COUNT
     @Query("SELECT t FROM Transaction t " +
            "LEFT JOIN FETCH t.category " +
+           "LEFT JOIN FETCH t.user " +
            "WHERE t.user.id = :userId " +
-           "AND t.date BETWEEN :startDate AND :endDate")
-    List<Transaction> findByUserIdAndDateBetween(
-        @Param("userId") Integer userId, 
-        @Param("startDate") LocalDate startDate, 
-        @Param("endDate") LocalDate endDate
+           "AND (:type IS NULL OR t.type = :type) " +
+           "ORDER BY t.date DESC, t.id DESC")
+    List<Transaction> findFirstPageByUserId(
+        @Param("userId") Integer userId,
+        @Param("type") Transaction.TransactionType type,
+        Pageable window
     );
     
     @Query("SELECT t FROM Transaction t " +
+           "LEFT JOIN FETCH t.category " +
+           "LEFT JOIN FETCH t.user " +
+           "WHERE t.user.id = :userId " +
+           "AND (:type IS NULL OR t.type = :type) " +
+           "AND (t.date < :date OR (t.date = :date AND t.id < :id)) " +
+           "ORDER BY t.date DESC, t.id DESC")
+    List<Transaction> findPageByUserIdAfter(
+        @Param("userId") Integer userId,
+        @Param("type") Transaction.TransactionType type,
+        @Param("date") LocalDate date,
+        @Param("id") Integer id,
+        Pageable window
+    );
+    
+    @Query("SELECT t FROM Transaction t " +
+           "LEFT JOIN FETCH t.category " +
            "WHERE t.user.id = :userId " +
-           "AND t.type = :type " +
            "AND t.date BETWEEN :startDate AND :endDate")
-    List<Transaction> findByUserIdAndTypeAndDateBetween(
+    List<Transaction> findByUserIdAndDateBetween(
         @Param("userId") Integer userId, 
-        @Param("type") Transaction.TransactionType type, 
         @Param("startDate") LocalDate startDate, 
         @Param("endDate") LocalDate endDate
     );
     
-    @Query("SELECT t FROM Transaction t " +
+    @Query("SELECT t.type AS type, " +
+           "SUM(COALESCE(t.amount, CAST(t.legacyAmount AS BigDecimal))) AS total, " +
+           "COUNT(t) AS txCount " +
+           "FROM Transaction t " +
            "WHERE t.user.id = :userId " +
-           "AND t.category.id = :categoryId " +
-           "AND t.type = :type " +
-           "AND t.date BETWEEN :startDate AND :endDate")
-    List<Transaction> findByUserIdAndCategoryIdAndTypeAndDateBetween(
+           "AND t.date BETWEEN :startDate AND :endDate " +
+           "GROUP BY t.type")
+    List<TypeTotal> sumByTypeBetween(
         @Param("userId") Integer userId,
-        @Param("categoryId") Integer categoryId,
-        @Param("type") Transaction.TransactionType type,
         @Param("startDate") LocalDate startDate,
         @Param("endDate") LocalDate endDate
     );
@@ -108,5 +225,9 @@ public interface TransactionRepository extends JpaRepository<Transaction, Intege
            "LEFT JOIN FETCH t.user " +
            "WHERE t.id = :id")
     java.util.Optional<Transaction> findByIdWithRelations(@Param("id") Integer id);
+    
+    // Locking read selalu membaca versi yang sudah di-commit terakhir, bukan snapshot transaksi
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Transaction t WHERE t.id = :id")
+    Optional<Transaction> findByIdForUpdate(@Param("id") Integer id);
 }
-
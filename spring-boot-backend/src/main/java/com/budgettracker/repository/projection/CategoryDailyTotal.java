@@ -0,0 +1,10 @@
+package com.budgettracker.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public interface CategoryDailyTotal {
+    Integer getCategoryId();
+    LocalDate getEntryDate();
+    BigDecimal getTotal();
+}
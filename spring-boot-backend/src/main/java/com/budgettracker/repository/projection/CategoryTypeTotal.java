@@ -0,0 +1,12 @@
+package com.budgettracker.repository.projection;
+
+import com.budgettracker.entity.Transaction;
+
+import java.math.BigDecimal;
+
+public interface CategoryTypeTotal {
+    Transaction.TransactionType getType();
+    Integer getCategoryId();
+    BigDecimal getTotal();
+    Long getTxCount();
+}
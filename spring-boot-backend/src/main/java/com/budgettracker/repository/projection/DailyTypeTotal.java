@@ -0,0 +1,12 @@
+package com.budgettracker.repository.projection;
+
+import com.budgettracker.entity.Transaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public interface DailyTypeTotal {
+    LocalDate getEntryDate();
+    Transaction.TransactionType getType();
+    BigDecimal getTotal();
+}
@@ -0,0 +1,11 @@
+package com.budgettracker.repository.projection;
+
+import com.budgettracker.entity.Transaction;
+
+import java.math.BigDecimal;
+
+public interface PeriodTypeTotal {
+    String getPeriod();
+    Transaction.TransactionType getType();
+    BigDecimal getTotal();
+}
@@ -0,0 +1,6 @@
+package com.budgettracker.repository.projection;
+
+public interface SearchHit {
+    Integer getId();
+    Long getTotal();
+}
@@ -0,0 +1,16 @@
+package com.budgettracker.repository.projection;
+
+import com.budgettracker.entity.Transaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public interface TransactionExportRow {
+    Integer getId();
+    Transaction.TransactionType getType();
+    BigDecimal getAmount();
+    String getLegacyAmount();
+    LocalDate getDate();
+    String getNote();
+    Integer getCategoryId();
+}
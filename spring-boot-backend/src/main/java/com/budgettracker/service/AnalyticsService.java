@@ -0,0 +1,13 @@
+package com.budgettracker.service;
+
+import com.budgettracker.dto.response.AnalyticsSummaryResponse;
+import com.budgettracker.dto.response.AnalyticsTrendResponse;
+import com.budgettracker.dto.response.YearOverYearResponse;
+
+import java.time.LocalDate;
+
+public interface AnalyticsService {
+    AnalyticsSummaryResponse getSummary(Integer userId, LocalDate from, LocalDate to);
+    AnalyticsTrendResponse getMonthlyTrend(Integer userId, String from, String to, Integer window, Integer categoryId);
+    YearOverYearResponse getYearOverYear(Integer userId, Integer year);
+}
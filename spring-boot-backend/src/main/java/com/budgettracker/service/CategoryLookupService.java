@@ -0,0 +1,21 @@
+package com.budgettracker.service;
+
+import com.budgettracker.entity.Category;
+
+import java.util.List;
+import java.util.Optional;
+
+// Lookup kategori dari cache in-memory (read-through). Entity yang dikembalikan adalah salinan detached
+// baru di setiap panggilan, aman dipakai sebagai relasi entity lain tanpa query tambahan.
+public interface CategoryLookupService {
+    Optional<Category> findById(Integer id);
+    
+    List<Category> findAll();
+    
+    List<Category> findByType(Category.CategoryType type);
+    
+    List<Integer> findIdsByNameContaining(String name);
+    
+    // Naikkan versi cache (di transaksi pemanggil) dan buang cache lokal setelah commit
+    void invalidate();
+}
@@ -0,0 +1,11 @@
+package com.budgettracker.service;
+
+import com.budgettracker.entity.Transaction;
+
+import java.util.List;
+
+public interface LedgerService {
+    void record(Transaction transaction);
+    void reverse(Transaction transaction);
+    void recordAll(List<Transaction> transactions);
+}
@@ -0,0 +1,16 @@
+package com.budgettracker.service;
+
+import com.budgettracker.entity.MonthlyBalance;
+import com.budgettracker.entity.Transaction;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface MonthlyBalanceService {
+    void record(Transaction transaction);
+    void reverse(Transaction transaction);
+    void replace(Transaction previous, Transaction current);
+    void recordAll(List<Transaction> transactions);
+    Map<String, MonthlyBalance> findByPeriods(Integer userId, Collection<String> periods);
+}
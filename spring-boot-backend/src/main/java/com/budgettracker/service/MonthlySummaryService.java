@@ -4,6 +4,9 @@ import com.budgettracker.dto.request.CreateMonthlySummaryRequest;
 import com.budgettracker.dto.request.UpdateMonthlySummaryRequest;
 import com.budgettracker.dto.response.AIGenerateResponse;
 import com.budgettracker.dto.response.MonthlySummaryResponse;
+import com.budgettracker.dto.response.SummaryStreamEvent;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.util.List;
 
@@ -15,5 +18,8 @@ public interface MonthlySummaryService {
     MonthlySummaryResponse update(Integer userId, Integer id, UpdateMonthlySummaryRequest request);
     void delete(Integer id);
     AIGenerateResponse generate(Integer userId);
+    Mono<AIGenerateResponse> generateAsync(Integer userId);
+    Flux<SummaryStreamEvent> generateStream(Integer userId);
+    void validateGenerateLimit(Integer userId);
 }
 
@@ -0,0 +1,14 @@
+package com.budgettracker.service;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+public interface OpenRouterService {
+    // Mengirim request chat completion dan mengembalikan isi message dari choice pertama
+    Mono<String> complete(Map<String, Object> body);
+    
+    // Request yang sama dengan stream: true; mengembalikan potongan isi message sesuai urutan dari model
+    Flux<String> stream(Map<String, Object> body);
+}
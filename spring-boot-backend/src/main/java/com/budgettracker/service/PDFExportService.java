@@ -2,8 +2,11 @@ package com.budgettracker.service;
 
 import com.budgettracker.entity.MonthlySummary;
 
+import java.io.OutputStream;
+
 public interface PDFExportService {
     byte[] generateSummaryPDF(MonthlySummary summary);
+    void writeSummaryPDF(MonthlySummary summary, OutputStream output);
 }
 
 
@@ -0,0 +1,12 @@
+package com.budgettracker.service;
+
+import com.budgettracker.dto.response.AIGenerateResponse;
+
+import java.util.Optional;
+
+public interface SummaryCacheService {
+    // SHA-256 (hex) dari JSON kanonik request body; body yang sama selalu menghasilkan hash yang sama
+    String fingerprint(Object requestBody);
+    Optional<AIGenerateResponse> get(String payloadHash);
+    void put(String payloadHash, String model, AIGenerateResponse response);
+}
@@ -0,0 +1,8 @@
+package com.budgettracker.service;
+
+import com.budgettracker.dto.response.SummaryJobResponse;
+
+public interface SummaryJobService {
+    SummaryJobResponse submit(Integer userId);
+    SummaryJobResponse getJob(Integer userId, String jobId);
+}
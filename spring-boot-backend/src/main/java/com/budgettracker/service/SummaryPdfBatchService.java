@@ -0,0 +1,14 @@
+package com.budgettracker.service;
+
+import com.budgettracker.entity.MonthlySummary;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+public interface SummaryPdfBatchService {
+    enum Format { ZIP, PDF }
+    
+    List<MonthlySummary> findOwned(Integer userId, List<Integer> ids, String year);
+    void write(List<MonthlySummary> summaries, Format format, OutputStream output) throws IOException;
+}
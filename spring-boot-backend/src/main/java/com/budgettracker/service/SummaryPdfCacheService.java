@@ -0,0 +1,13 @@
+package com.budgettracker.service;
+
+import com.budgettracker.entity.MonthlySummary;
+
+import java.nio.file.Path;
+
+public interface SummaryPdfCacheService {
+    String etagOf(MonthlySummary summary);
+    long lastModifiedOf(MonthlySummary summary);
+    Path getOrRender(MonthlySummary summary);
+    void prerender(Integer summaryId);
+    void evict(Integer summaryId);
+}
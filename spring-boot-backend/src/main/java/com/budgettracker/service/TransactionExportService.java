@@ -0,0 +1,14 @@
+package com.budgettracker.service;
+
+import com.budgettracker.entity.Transaction;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+public interface TransactionExportService {
+    enum Format { CSV, NDJSON }
+    
+    long export(Integer userId, LocalDate startDate, LocalDate endDate, Transaction.TransactionType type,
+                Format format, OutputStream output) throws IOException;
+}
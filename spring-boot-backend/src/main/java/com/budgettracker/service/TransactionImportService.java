@@ -0,0 +1,10 @@
+package com.budgettracker.service;
+
+import com.budgettracker.dto.response.TransactionImportResponse;
+
+import java.io.InputStream;
+
+public interface TransactionImportService {
+    TransactionImportResponse importCsv(Integer userId, InputStream input);
+    TransactionImportResponse importJson(Integer userId, InputStream input);
+}
@@ -8,10 +8,11 @@ import java.util.List;
 
 public interface TransactionService {
     PagedResponse<TransactionResponse> getAllByUser(Integer userId, Integer page, Integer limit, String search, String type);
+    PagedResponse<TransactionResponse> getAllByUserWithCursor(Integer userId, String cursor, Integer limit, String search, String type, boolean includeTotal);
     TransactionResponse getById(Integer id);
     TransactionResponse create(Integer userId, CreateTransactionRequest request);
     TransactionResponse update(Integer userId, Integer id, UpdateTransactionRequest request);
-    void delete(Integer id);
+    void delete(Integer userId, Integer id);
     MonthlyStatsResponse getMonthlySummary(Integer userId);
     List<ChartDataResponse> getMonthlyChart(Integer userId);
     List<TransactionResponse> getTodayTransactions(Integer userId);
@@ -0,0 +1,7 @@
+package com.budgettracker.service;
+
+import java.util.function.Supplier;
+
+public interface UserWriteLockService {
+    <T> T executeLocked(Integer userId, Supplier<T> write);
+}
@@ -0,0 +1,295 @@
+package com.budgettracker.service.impl;
+
+import com.budgettracker.dto.response.AnalyticsSummaryResponse;
+import com.budgettracker.dto.response.AnalyticsTrendResponse;
+import com.budgettracker.dto.response.YearOverYearResponse;
+import com.budgettracker.entity.Category;
+import com.budgettracker.entity.Transaction;
+import com.budgettracker.exception.BadRequestException;
+import com.budgettracker.repository.LedgerAggregateRepository;
+import com.budgettracker.repository.LedgerMonthlyAggregateRepository;
+import com.budgettracker.repository.projection.CategoryTypeTotal;
+import com.budgettracker.repository.projection.PeriodTypeTotal;
+import com.budgettracker.service.AnalyticsService;
+import com.budgettracker.service.CategoryLookupService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Analytics rentang bebas dari rollup: bulan penuh dibaca dari ledger_monthly_aggregates, sisa hari di awal
+// dan akhir rentang dari ledger_aggregates. Jumlah baris yang dibaca bergantung pada panjang rentang dan jumlah
+// kategori, bukan jumlah transaksi.
+@Service
+@RequiredArgsConstructor
+public class AnalyticsServiceImpl implements AnalyticsService {
+
+    private static final int MAX_TREND_MONTHS = 120;
+    private static final int MAX_WINDOW = 12;
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private final LedgerAggregateRepository ledgerAggregateRepository;
+    private final LedgerMonthlyAggregateRepository ledgerMonthlyAggregateRepository;
+    private final CategoryLookupService categoryLookupService;
+
+    @Override
+    @Transactional(readOnly = true)
+    public AnalyticsSummaryResponse getSummary(Integer userId, LocalDate from, LocalDate to) {
+        LocalDate endDate = to != null ? to : LocalDate.now();
+        LocalDate startDate = from != null ? from : endDate.withDayOfMonth(1);
+        if (startDate.isAfter(endDate)) {
+            throw new BadRequestException("Tanggal awal tidak boleh setelah tanggal akhir");
+        }
+
+        Map<CategoryKey, Bucket> buckets = new LinkedHashMap<>();
+        for (CategoryTypeTotal total : sumByCategory(userId, startDate, endDate)) {
+            buckets.computeIfAbsent(new CategoryKey(total.getType(), total.getCategoryId()), k -> new Bucket())
+                    .add(total.getTotal(), total.getTxCount());
+        }
+
+        BigDecimal income = BigDecimal.ZERO;
+        BigDecimal expense = BigDecimal.ZERO;
+        long count = 0;
+        for (Map.Entry<CategoryKey, Bucket> entry : buckets.entrySet()) {
+            if (entry.getKey().type() == Transaction.TransactionType.INCOME) {
+                income = income.add(entry.getValue().total);
+            } else {
+                expense = expense.add(entry.getValue().total);
+            }
+            count += entry.getValue().count;
+        }
+
+        List<AnalyticsSummaryResponse.CategoryBreakdown> categories = new ArrayList<>();
+        for (Map.Entry<CategoryKey, Bucket> entry : buckets.entrySet()) {
+            CategoryKey key = entry.getKey();
+            Bucket bucket = entry.getValue();
+            if (bucket.count <= 0) {
+                continue;
+            }
+            BigDecimal typeTotal = key.type() == Transaction.TransactionType.INCOME ? income : expense;
+            categories.add(AnalyticsSummaryResponse.CategoryBreakdown.builder()
+                    .categoryId(key.categoryId())
+                    .categoryName(categoryLookupService.findById(key.categoryId()).map(Category::getName).orElse(null))
+                    .type(key.type().name().toLowerCase(Locale.ROOT))
+                    .total(bucket.total)
+                    .transactionCount(bucket.count)
+                    .percentage(percentage(bucket.total, typeTotal))
+                    .build());
+        }
+        categories.sort(Comparator
+                .comparing(AnalyticsSummaryResponse.CategoryBreakdown::getType)
+                .thenComparing(AnalyticsSummaryResponse.CategoryBreakdown::getTotal, Comparator.reverseOrder()));
+
+        return AnalyticsSummaryResponse.builder()
+                .from(startDate)
+                .to(endDate)
+                .income(income)
+                .expense(expense)
+                .balance(income.subtract(expense))
+                .savingsRate(savingsRate(income, expense))
+                .transactionCount(count)
+                .categories(categories)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public AnalyticsTrendResponse getMonthlyTrend(Integer userId, String from, String to, Integer window, Integer categoryId) {
+        YearMonth endMonth = to != null && !to.isBlank() ? parseMonth(to) : YearMonth.now();
+        YearMonth startMonth = from != null && !from.isBlank() ? parseMonth(from) : endMonth.minusMonths(11);
+        int windowSize = window != null ? window : 3;
+        if (startMonth.isAfter(endMonth)) {
+            throw new BadRequestException("Bulan awal tidak boleh setelah bulan akhir");
+        }
+        if (startMonth.plusMonths(MAX_TREND_MONTHS).isBefore(endMonth.plusMonths(1))) {
+            throw new BadRequestException("Rentang maksimal " + MAX_TREND_MONTHS + " bulan");
+        }
+        if (windowSize < 1 || windowSize > MAX_WINDOW) {
+            throw new BadRequestException("Window moving average harus 1 sampai " + MAX_WINDOW + " bulan");
+        }
+
+        // Bulan sebelum rentang ikut dibaca supaya moving average bulan pertama tetap penuh
+        YearMonth loadFrom = startMonth.minusMonths(windowSize - 1);
+        Map<YearMonth, BigDecimal[]> totals = monthlyTotals(userId, loadFrom, endMonth, categoryId);
+
+        List<AnalyticsTrendResponse.MonthPoint> months = new ArrayList<>();
+        for (YearMonth month = startMonth; !month.isAfter(endMonth); month = month.plusMonths(1)) {
+            BigDecimal[] current = totals.get(month);
+            BigDecimal incomeSum = BigDecimal.ZERO;
+            BigDecimal expenseSum = BigDecimal.ZERO;
+            for (int i = 0; i < windowSize; i++) {
+                BigDecimal[] previous = totals.get(month.minusMonths(i));
+                incomeSum = incomeSum.add(previous[0]);
+                expenseSum = expenseSum.add(previous[1]);
+            }
+            BigDecimal divisor = BigDecimal.valueOf(windowSize);
+            months.add(AnalyticsTrendResponse.MonthPoint.builder()
+                    .period(month.toString())
+                    .income(current[0])
+                    .expense(current[1])
+                    .balance(current[0].subtract(current[1]))
+                    .savingsRate(savingsRate(current[0], current[1]))
+                    .incomeMovingAverage(incomeSum.divide(divisor, 2, RoundingMode.HALF_UP))
+                    .expenseMovingAverage(expenseSum.divide(divisor, 2, RoundingMode.HALF_UP))
+                    .build());
+        }
+
+        return AnalyticsTrendResponse.builder()
+                .from(startMonth.toString())
+                .to(endMonth.toString())
+                .window(windowSize)
+                .categoryId(categoryId)
+                .months(months)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public YearOverYearResponse getYearOverYear(Integer userId, Integer year) {
+        int currentYear = year != null ? year : LocalDate.now().getYear();
+        if (currentYear < 1001 || currentYear > 9999) {
+            throw new BadRequestException("Tahun tidak valid");
+        }
+
+        // Bucket tahunan = 12 baris bulanan per tahun
+        Map<YearMonth, BigDecimal[]> totals = monthlyTotals(
+                userId, YearMonth.of(currentYear - 1, 1), YearMonth.of(currentYear, 12), null);
+
+        BigDecimal[] currentTotals = {BigDecimal.ZERO, BigDecimal.ZERO};
+        BigDecimal[] previousTotals = {BigDecimal.ZERO, BigDecimal.ZERO};
+        List<YearOverYearResponse.MonthComparison> months = new ArrayList<>();
+        for (int month = 1; month <= 12; month++) {
+            BigDecimal[] current = totals.get(YearMonth.of(currentYear, month));
+            BigDecimal[] previous = totals.get(YearMonth.of(currentYear - 1, month));
+            for (int i = 0; i < 2; i++) {
+                currentTotals[i] = currentTotals[i].add(current[i]);
+                previousTotals[i] = previousTotals[i].add(previous[i]);
+            }
+            months.add(YearOverYearResponse.MonthComparison.builder()
+                    .month(month)
+                    .income(current[0])
+                    .previousIncome(previous[0])
+                    .expense(current[1])
+                    .previousExpense(previous[1])
+                    .build());
+        }
+
+        return YearOverYearResponse.builder()
+                .year(currentYear)
+                .previousYear(currentYear - 1)
+                .current(yearTotals(currentTotals))
+                .previous(yearTotals(previousTotals))
+                .incomeChange(change(currentTotals[0], previousTotals[0]))
+                .expenseChange(change(currentTotals[1], previousTotals[1]))
+                .months(months)
+                .build();
+    }
+
+    // Rentang dipecah: hari sisa di bulan pertama, bulan penuh di tengah, hari sisa di bulan terakhir
+    private List<CategoryTypeTotal> sumByCategory(Integer userId, LocalDate startDate, LocalDate endDate) {
+        YearMonth startMonth = YearMonth.from(startDate);
+        YearMonth endMonth = YearMonth.from(endDate);
+        boolean startsOnMonth = startDate.getDayOfMonth() == 1;
+        boolean endsOnMonth = endDate.equals(endMonth.atEndOfMonth());
+
+        if (startMonth.equals(endMonth) && !(startsOnMonth && endsOnMonth)) {
+            return ledgerAggregateRepository.sumByCategoryBetween(userId, startDate, endDate);
+        }
+
+        List<CategoryTypeTotal> totals = new ArrayList<>();
+        YearMonth firstFullMonth = startMonth;
+        YearMonth lastFullMonth = endMonth;
+        if (!startsOnMonth) {
+            totals.addAll(ledgerAggregateRepository.sumByCategoryBetween(userId, startDate, startMonth.atEndOfMonth()));
+            firstFullMonth = startMonth.plusMonths(1);
+        }
+        if (!endsOnMonth) {
+            totals.addAll(ledgerAggregateRepository.sumByCategoryBetween(userId, endMonth.atDay(1), endDate));
+            lastFullMonth = endMonth.minusMonths(1);
+        }
+        if (!firstFullMonth.isAfter(lastFullMonth)) {
+            totals.addAll(ledgerMonthlyAggregateRepository.sumByCategoryBetween(
+                    userId, firstFullMonth.toString(), lastFullMonth.toString()));
+        }
+        return totals;
+    }
+
+    // [income, expense] per bulan; bulan tanpa transaksi bernilai 0
+    private Map<YearMonth, BigDecimal[]> monthlyTotals(Integer userId, YearMonth from, YearMonth to, Integer categoryId) {
+        Map<YearMonth, BigDecimal[]> totals = new HashMap<>();
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            totals.put(month, new BigDecimal[]{BigDecimal.ZERO, BigDecimal.ZERO});
+        }
+        for (PeriodTypeTotal total : ledgerMonthlyAggregateRepository.sumByPeriodAndTypeBetween(
+                userId, from.toString(), to.toString(), categoryId)) {
+            BigDecimal[] month = totals.get(YearMonth.parse(total.getPeriod()));
+            if (month != null) {
+                month[total.getType() == Transaction.TransactionType.INCOME ? 0 : 1] = total.getTotal();
+            }
+        }
+        return totals;
+    }
+
+    private YearOverYearResponse.YearTotals yearTotals(BigDecimal[] totals) {
+        return YearOverYearResponse.YearTotals.builder()
+                .income(totals[0])
+                .expense(totals[1])
+                .balance(totals[0].subtract(totals[1]))
+                .savingsRate(savingsRate(totals[0], totals[1]))
+                .build();
+    }
+
+    private YearMonth parseMonth(String value) {
+        try {
+            return YearMonth.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException("Format bulan harus yyyy-MM");
+        }
+    }
+
+    private static BigDecimal savingsRate(BigDecimal income, BigDecimal expense) {
+        if (income.signum() <= 0) {
+            return null;
+        }
+        return income.subtract(expense).multiply(HUNDRED).divide(income, 2, RoundingMode.HALF_UP);
+    }
+
+    private static BigDecimal percentage(BigDecimal part, BigDecimal total) {
+        if (total.signum() == 0) {
+            return BigDecimal.ZERO;
+        }
+        return part.multiply(HUNDRED).divide(total, 2, RoundingMode.HALF_UP);
+    }
+
+    private static BigDecimal change(BigDecimal current, BigDecimal previous) {
+        if (previous.signum() == 0) {
+            return null;
+        }
+        return current.subtract(previous).multiply(HUNDRED).divide(previous, 2, RoundingMode.HALF_UP);
+    }
+
+    private record CategoryKey(Transaction.TransactionType type, Integer categoryId) {
+    }
+
+    private static class Bucket {
+        private BigDecimal total = BigDecimal.ZERO;
+        private long count;
+
+        private void add(BigDecimal value, Long txCount) {
+            total = total.add(value);
+            count += txCount != null ? txCount : 0;
+        }
+    }
+}
@@ -11,18 +11,21 @@ import com.budgettracker.exception.BadRequestException;
 import com.budgettracker.exception.NotFoundException;
 import com.budgettracker.mapper.BudgetMapper;
 import com.budgettracker.repository.BudgetRepository;
-import com.budgettracker.repository.CategoryRepository;
-import com.budgettracker.repository.TransactionRepository;
+import com.budgettracker.repository.LedgerAggregateRepository;
 import com.budgettracker.repository.UserRepository;
+import com.budgettracker.repository.projection.CategoryDailyTotal;
 import com.budgettracker.service.BudgetService;
+import com.budgettracker.service.CategoryLookupService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -30,19 +33,14 @@ public class BudgetServiceImpl implements BudgetService {
     
     private final BudgetRepository budgetRepository;
     private final UserRepository userRepository;
-    private final CategoryRepository categoryRepository;
-    private final TransactionRepository transactionRepository;
+    private final CategoryLookupService categoryLookupService;
+    private final LedgerAggregateRepository ledgerAggregateRepository;
     private final BudgetMapper budgetMapper;
     
     @Override
     public List<BudgetResponse> getAll(Integer userId) {
         List<Budget> budgets = budgetRepository.findByUserId(userId);
-        return budgets.stream()
-                .map(budget -> {
-                    BigDecimal spentAmount = calculateSpentAmount(budget);
-                    return budgetMapper.toResponse(budget, spentAmount);
-                })
-                .collect(Collectors.toList());
+        return toResponses(userId, budgets);
     }
     
     @Override
@@ -61,7 +59,7 @@ public class BudgetServiceImpl implements BudgetService {
         
         Category category = null;
         if (request.getCategoryId() != null) {
-            category = categoryRepository.findById(request.getCategoryId())
+            category = categoryLookupService.findById(request.getCategoryId())
                     .orElseThrow(() -> new NotFoundException("Kategori Tidak Ditemukan!"));
         }
         
@@ -106,7 +104,7 @@ public class BudgetServiceImpl implements BudgetService {
         }
         
         if (request.getCategoryId() != null) {
-            Category category = categoryRepository.findById(request.getCategoryId())
+            Category category = categoryLookupService.findById(request.getCategoryId())
                     .orElseThrow(() -> new NotFoundException("Kategori Tidak Ditemukan!"));
             budget.setCategory(category);
         }
@@ -159,41 +157,72 @@ public class BudgetServiceImpl implements BudgetService {
     public List<BudgetResponse> getActiveBudgets(Integer userId) {
         LocalDate today = LocalDate.now();
         List<Budget> budgets = budgetRepository.findActiveBudgetsByUserIdAndDate(userId, today);
-        return budgets.stream()
-                .map(budget -> {
-                    BigDecimal spentAmount = calculateSpentAmount(budget);
-                    return budgetMapper.toResponse(budget, spentAmount);
-                })
-                .collect(Collectors.toList());
+        return toResponses(userId, budgets);
+    }
+    
+    private List<BudgetResponse> toResponses(Integer userId, List<Budget> budgets) {
+        List<BigDecimal> spentAmounts = calculateSpentAmounts(userId, budgets);
+        List<BudgetResponse> responses = new ArrayList<>(budgets.size());
+        for (int i = 0; i < budgets.size(); i++) {
+            responses.add(budgetMapper.toResponse(budgets.get(i), spentAmounts.get(i)));
+        }
+        return responses;
     }
     
     private BigDecimal calculateSpentAmount(Budget budget) {
-        LocalDate startDate = budget.getPeriodStart();
-        LocalDate endDate = budget.getPeriodEnd() != null ? budget.getPeriodEnd() : LocalDate.now();
-        
-        List<Transaction> transactions;
-        if (budget.getCategory() != null) {
-            // Calculate spent for specific category
-            transactions = transactionRepository.findByUserIdAndCategoryIdAndTypeAndDateBetween(
-                    budget.getUser().getId(),
-                    budget.getCategory().getId(),
-                    Transaction.TransactionType.EXPENSE,
-                    startDate,
-                    endDate
-            );
-        } else {
-            // Calculate total expense for all categories in period
-            transactions = transactionRepository.findByUserIdAndTypeAndDateBetween(
-                    budget.getUser().getId(),
-                    Transaction.TransactionType.EXPENSE,
-                    startDate,
-                    endDate
-            );
-        }
-        
-        return transactions.stream()
-                .map(tx -> new BigDecimal(tx.getAmount()))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return calculateSpentAmounts(budget.getUser().getId(), List.of(budget)).get(0);
+    }
+    
+    // Satu query ke ledger untuk gabungan semua periode budget, lalu tiap budget
+    // dihitung dari prefix sum harian (per kategori dan semua kategori)
+    private List<BigDecimal> calculateSpentAmounts(Integer userId, List<Budget> budgets) {
+        if (budgets.isEmpty()) {
+            return List.of();
+        }
+        
+        LocalDate today = LocalDate.now();
+        LocalDate rangeStart = null;
+        LocalDate rangeEnd = null;
+        for (Budget budget : budgets) {
+            LocalDate startDate = budget.getPeriodStart();
+            LocalDate endDate = periodEndOf(budget, today);
+            if (rangeStart == null || startDate.isBefore(rangeStart)) {
+                rangeStart = startDate;
+            }
+            if (rangeEnd == null || endDate.isAfter(rangeEnd)) {
+                rangeEnd = endDate;
+            }
+        }
+        
+        List<CategoryDailyTotal> dailyTotals = ledgerAggregateRepository.sumByCategoryAndDayBetween(
+                userId,
+                Transaction.TransactionType.EXPENSE,
+                rangeStart,
+                rangeEnd
+        );
+        
+        SpendingIndex allCategories = new SpendingIndex();
+        Map<Integer, SpendingIndex> byCategory = new HashMap<>();
+        for (CategoryDailyTotal daily : dailyTotals) {
+            allCategories.add(daily.getEntryDate(), daily.getTotal());
+            byCategory.computeIfAbsent(daily.getCategoryId(), id -> new SpendingIndex())
+                    .add(daily.getEntryDate(), daily.getTotal());
+        }
+        
+        List<BigDecimal> spentAmounts = new ArrayList<>(budgets.size());
+        for (Budget budget : budgets) {
+            SpendingIndex index = budget.getCategory() != null
+                    ? byCategory.get(budget.getCategory().getId())
+                    : allCategories;
+            spentAmounts.add(index != null
+                    ? index.sumBetween(budget.getPeriodStart(), periodEndOf(budget, today))
+                    : BigDecimal.ZERO);
+        }
+        return spentAmounts;
+    }
+    
+    private LocalDate periodEndOf(Budget budget, LocalDate today) {
+        return budget.getPeriodEnd() != null ? budget.getPeriodEnd() : today;
     }
     
     private LocalDate calculatePeriodEnd(LocalDate startDate, String period) {
@@ -204,6 +233,37 @@ public class BudgetServiceImpl implements BudgetService {
             default -> startDate.plusMonths(1).minusDays(1);
         };
     }
+    
+    // Total kumulatif per tanggal; entry harus ditambahkan berurutan berdasarkan tanggal
+    private static class SpendingIndex {
+        private final List<LocalDate> dates = new ArrayList<>();
+        private final List<BigDecimal> cumulative = new ArrayList<>();
+        
+        void add(LocalDate date, BigDecimal amount) {
+            BigDecimal previous = cumulative.isEmpty() ? BigDecimal.ZERO : cumulative.get(cumulative.size() - 1);
+            dates.add(date);
+            cumulative.add(previous.add(amount));
+        }
+        
+        BigDecimal sumBetween(LocalDate startDate, LocalDate endDate) {
+            if (endDate.isBefore(startDate)) {
+                return BigDecimal.ZERO;
+            }
+            return totalBefore(endDate.plusDays(1)).subtract(totalBefore(startDate));
+        }
+        
+        private BigDecimal totalBefore(LocalDate date) {
+            int low = 0;
+            int high = dates.size();
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (dates.get(mid).isBefore(date)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low == 0 ? BigDecimal.ZERO : cumulative.get(low - 1);
+        }
+    }
 }
-
-
@@ -0,0 +1,194 @@
+package com.budgettracker.service.impl;
+
+import com.budgettracker.entity.CacheVersion;
+import com.budgettracker.entity.Category;
+import com.budgettracker.repository.CacheVersionRepository;
+import com.budgettracker.repository.CategoryRepository;
+import com.budgettracker.service.CategoryLookupService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+// Seluruh tabel categories (kecil dan jarang berubah) disimpan sebagai satu snapshot immutable beserta
+// versinya di cache_versions. Perubahan di node mana pun menaikkan versi; setiap node mem-poll versi
+// dan membuang snapshot jika berbeda, lalu memuat ulang saat dibaca berikutnya.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CategoryLookupServiceImpl implements CategoryLookupService {
+
+    public static final String CACHE_NAME = "categories";
+
+    private final CategoryRepository categoryRepository;
+    private final CacheVersionRepository cacheVersionRepository;
+
+    private volatile Snapshot snapshot;
+
+    @Override
+    public Optional<Category> findById(Integer id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        CachedCategory category = snapshot().byId().get(id);
+        return Optional.ofNullable(category).map(CachedCategory::toEntity);
+    }
+
+    @Override
+    public List<Category> findAll() {
+        return toEntities(snapshot().byId().values());
+    }
+
+    @Override
+    public List<Category> findByType(Category.CategoryType type) {
+        List<CachedCategory> matches = new ArrayList<>();
+        for (CachedCategory category : snapshot().byId().values()) {
+            if (category.type() == type) {
+                matches.add(category);
+            }
+        }
+        return toEntities(matches);
+    }
+
+    @Override
+    public List<Integer> findIdsByNameContaining(String name) {
+        String keyword = name.toLowerCase(Locale.ROOT);
+        List<Integer> ids = new ArrayList<>();
+        for (CachedCategory category : snapshot().byId().values()) {
+            if (category.name() != null && category.name().toLowerCase(Locale.ROOT).contains(keyword)) {
+                ids.add(category.id());
+            }
+        }
+        return ids;
+    }
+
+    @Override
+    @Transactional
+    public void invalidate() {
+        int updated = cacheVersionRepository.increment(CACHE_NAME, LocalDateTime.now());
+        if (updated == 0) {
+            // Baris versi belum ada (database tanpa migrasi V5)
+            cacheVersionRepository.save(CacheVersion.builder()
+                    .name(CACHE_NAME)
+                    .version(1L)
+                    .updatedAt(LocalDateTime.now())
+                    .build());
+        }
+
+        // Snapshot lokal dibuang setelah commit; kalau dibuang sebelumnya, pembaca lain bisa memuat data lama lagi
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    snapshot = null;
+                }
+            });
+        } else {
+            snapshot = null;
+        }
+    }
+
+    // Deteksi perubahan dari node lain
+    @Scheduled(fixedDelayString = "${cache.categories.poll-delay-ms:5000}")
+    public void checkVersion() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return;
+        }
+        try {
+            long version = currentVersion();
+            if (version != current.version()) {
+                log.debug("Category cache version changed {} -> {}, evicting", current.version(), version);
+                snapshot = null;
+            }
+        } catch (Exception e) {
+            log.warn("Failed to check category cache version: {}", e.getMessage());
+        }
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (snapshot == null) {
+                snapshot = load();
+            }
+            return snapshot;
+        }
+    }
+
+    // Versi dibaca sebelum data: jika commit lain terjadi di antaranya, versi yang disimpan lebih lama
+    // dari data sehingga poll berikutnya hanya memuat ulang, tidak pernah menyimpan data lama sebagai versi baru
+    private Snapshot load() {
+        long version = currentVersion();
+        List<Category> categories = new ArrayList<>(categoryRepository.findAll());
+        categories.sort(Comparator.comparing(Category::getId));
+
+        Map<Integer, CachedCategory> byId = new LinkedHashMap<>();
+        for (Category category : categories) {
+            byId.put(category.getId(), CachedCategory.of(category));
+        }
+        log.debug("Loaded {} categories into cache (version {})", byId.size(), version);
+        return new Snapshot(version, Collections.unmodifiableMap(byId));
+    }
+
+    private long currentVersion() {
+        return cacheVersionRepository.findVersion(CACHE_NAME).orElse(0L);
+    }
+
+    private List<Category> toEntities(Iterable<CachedCategory> categories) {
+        List<Category> entities = new ArrayList<>();
+        for (CachedCategory category : categories) {
+            entities.add(category.toEntity());
+        }
+        return entities;
+    }
+
+    private record Snapshot(long version, Map<Integer, CachedCategory> byId) {
+    }
+
+    private record CachedCategory(
+            Integer id,
+            String name,
+            String description,
+            Category.CategoryType type,
+            LocalDateTime createdAt,
+            LocalDateTime updatedAt) {
+
+        static CachedCategory of(Category category) {
+            return new CachedCategory(
+                    category.getId(),
+                    category.getName(),
+                    category.getDescription(),
+                    category.getType(),
+                    category.getCreatedAt(),
+                    category.getUpdatedAt());
+        }
+
+        Category toEntity() {
+            return Category.builder()
+                    .id(id)
+                    .name(name)
+                    .description(description)
+                    .type(type)
+                    .createdAt(createdAt)
+                    .updatedAt(updatedAt)
+                    .build();
+        }
+    }
+}
@@ -7,6 +7,7 @@ import com.budgettracker.entity.Category;
 import com.budgettracker.exception.NotFoundException;
 import com.budgettracker.mapper.CategoryMapper;
 import com.budgettracker.repository.CategoryRepository;
+import com.budgettracker.service.CategoryLookupService;
 import com.budgettracker.service.CategoryService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -20,11 +21,12 @@ import java.util.stream.Collectors;
 public class CategoryServiceImpl implements CategoryService {
     
     private final CategoryRepository categoryRepository;
+    private final CategoryLookupService categoryLookupService;
     private final CategoryMapper categoryMapper;
     
     @Override
     public List<CategoryResponse> getAll() {
-        List<Category> categories = categoryRepository.findAll();
+        List<Category> categories = categoryLookupService.findAll();
         // Return empty list instead of throwing exception
         // Frontend can handle empty list gracefully
         return categories.stream()
@@ -50,7 +52,7 @@ public class CategoryServiceImpl implements CategoryService {
             return getAll();
         }
         
-        List<Category> categories = categoryRepository.findByType(categoryType);
+        List<Category> categories = categoryLookupService.findByType(categoryType);
         return categories.stream()
                 .map(categoryMapper::toResponse)
                 .collect(Collectors.toList());
@@ -58,7 +60,7 @@ public class CategoryServiceImpl implements CategoryService {
     
     @Override
     public CategoryResponse getById(Integer id) {
-        Category category = categoryRepository.findById(id)
+        Category category = categoryLookupService.findById(id)
                 .orElseThrow(() -> new NotFoundException("Kategori Tidak di temukan!"));
         return categoryMapper.toResponse(category);
     }
@@ -86,6 +88,7 @@ public class CategoryServiceImpl implements CategoryService {
                 .build();
         
         category = categoryRepository.save(category);
+        categoryLookupService.invalidate();
         return categoryMapper.toResponse(category);
     }
     
@@ -104,6 +107,7 @@ public class CategoryServiceImpl implements CategoryService {
         }
         
         category = categoryRepository.save(category);
+        categoryLookupService.invalidate();
         return categoryMapper.toResponse(category);
     }
     
@@ -113,6 +117,7 @@ public class CategoryServiceImpl implements CategoryService {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Kategori Tidak di temukan!"));
         categoryRepository.delete(category);
+        categoryLookupService.invalidate();
     }
 }
 
@@ -7,6 +7,7 @@ import com.budgettracker.dto.response.FinancialGoalResponse;
 import com.budgettracker.entity.FinancialGoal;
 import com.budgettracker.entity.User;
 import com.budgettracker.exception.BadRequestException;
+import com.budgettracker.exception.ConflictException;
 import com.budgettracker.exception.NotFoundException;
 import com.budgettracker.mapper.FinancialGoalMapper;
 import com.budgettracker.repository.FinancialGoalRepository;
@@ -14,12 +15,15 @@ import com.budgettracker.repository.UserRepository;
 import com.budgettracker.service.FinancialGoalService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,9 +31,12 @@ import java.util.stream.Collectors;
 @Slf4j
 public class FinancialGoalServiceImpl implements FinancialGoalService {
     
+    private static final int MAX_UPDATE_ATTEMPTS = 3;
+    
     private final FinancialGoalRepository financialGoalRepository;
     private final UserRepository userRepository;
     private final FinancialGoalMapper financialGoalMapper;
+    private final TransactionTemplate transactionTemplate;
     
     @Override
     public List<FinancialGoalResponse> getAll(Integer userId) {
@@ -101,8 +108,11 @@ public class FinancialGoalServiceImpl implements FinancialGoalService {
     }
     
     @Override
-    @Transactional
     public FinancialGoalResponse update(Integer userId, Integer id, UpdateFinancialGoalRequest request) {
+        return retryOnConflict(() -> applyUpdate(userId, id, request));
+    }
+    
+    private FinancialGoalResponse applyUpdate(Integer userId, Integer id, UpdateFinancialGoalRequest request) {
         FinancialGoal goal = financialGoalRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Financial Goal Tidak Ditemukan!"));
         
@@ -183,36 +193,31 @@ public class FinancialGoalServiceImpl implements FinancialGoalService {
     @Override
     @Transactional
     public FinancialGoalResponse addAmount(Integer userId, Integer id, AddAmountToGoalRequest request) {
+        // Satu UPDATE atomik (cap ke target + status COMPLETED di SQL), jadi penambahan bersamaan tidak saling menimpa
+        int updated = financialGoalRepository.addToCurrentAmount(id, userId, request.getAmount());
+        
         FinancialGoal goal = financialGoalRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Financial Goal Tidak Ditemukan!"));
-        
-        // Check ownership
-        if (!goal.getUser().getId().equals(userId)) {
-            throw new BadRequestException("Anda tidak memiliki akses ke goal ini");
-        }
-        
-        // Check if goal is active
-        if (goal.getStatus() != FinancialGoal.GoalStatus.ACTIVE) {
+        if (updated == 0) {
+            // Check ownership
+            if (!goal.getUser().getId().equals(userId)) {
+                throw new BadRequestException("Anda tidak memiliki akses ke goal ini");
+            }
             throw new BadRequestException("Hanya goal yang aktif yang bisa ditambahkan amount");
         }
         
-        BigDecimal newAmount = goal.getCurrentAmount().add(request.getAmount());
-        goal.setCurrentAmount(newAmount);
-        
-        // Auto-complete if target reached
-        if (newAmount.compareTo(goal.getTargetAmount()) >= 0) {
-            goal.setStatus(FinancialGoal.GoalStatus.COMPLETED);
-            goal.setCurrentAmount(goal.getTargetAmount()); // Cap at target
+        if (goal.getStatus() == FinancialGoal.GoalStatus.COMPLETED) {
             log.info("Goal {} completed by adding amount", goal.getId());
         }
-        
-        goal = financialGoalRepository.save(goal);
         return financialGoalMapper.toResponse(goal);
     }
     
     @Override
-    @Transactional
     public FinancialGoalResponse completeGoal(Integer userId, Integer id) {
+        return retryOnConflict(() -> applyComplete(userId, id));
+    }
+    
+    private FinancialGoalResponse applyComplete(Integer userId, Integer id) {
         FinancialGoal goal = financialGoalRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Financial Goal Tidak Ditemukan!"));
         
@@ -231,36 +236,39 @@ public class FinancialGoalServiceImpl implements FinancialGoalService {
     public void autoUpdateFromIncome(Integer userId, BigDecimal incomeAmount) {
         // Get all active goals that can be auto-updated
         LocalDate today = LocalDate.now();
-        List<FinancialGoal> activeGoals = financialGoalRepository.findActiveGoalsByUserId(
+        List<Integer> goalIds = financialGoalRepository.findActiveGoalIdsByUserId(
                 userId, FinancialGoal.GoalStatus.ACTIVE, today);
         
-        if (activeGoals.isEmpty() || incomeAmount.compareTo(BigDecimal.ZERO) <= 0) {
+        if (goalIds.isEmpty() || incomeAmount.compareTo(BigDecimal.ZERO) <= 0) {
             return;
         }
         
         // Distribute income to goals (simple strategy: equal distribution)
         // In future, can be enhanced with priority or percentage allocation
         BigDecimal amountPerGoal = incomeAmount.divide(
-                BigDecimal.valueOf(activeGoals.size()), 2, java.math.RoundingMode.HALF_UP);
+                BigDecimal.valueOf(goalIds.size()), 2, java.math.RoundingMode.HALF_UP);
         
-        for (FinancialGoal goal : activeGoals) {
-            BigDecimal newAmount = goal.getCurrentAmount().add(amountPerGoal);
-            
-            // Cap at target amount
-            if (newAmount.compareTo(goal.getTargetAmount()) > 0) {
-                newAmount = goal.getTargetAmount();
-            }
-            
-            goal.setCurrentAmount(newAmount);
-            
-            // Auto-complete if target reached
-            if (newAmount.compareTo(goal.getTargetAmount()) >= 0) {
-                goal.setStatus(FinancialGoal.GoalStatus.COMPLETED);
-                log.info("Goal {} auto-completed from income", goal.getId());
+        // Cap ke target dan auto-complete dikerjakan UPDATE atomik; goal yang sudah selesai
+        // (mis. oleh transaksi lain) di antara query dan update dilewati
+        int updated = 0;
+        for (Integer goalId : goalIds) {
+            updated += financialGoalRepository.addToCurrentAmount(goalId, userId, amountPerGoal);
+        }
+        log.debug("Distributed income {} to {} of {} goals for user {}", incomeAmount, updated, goalIds.size(), userId);
+    }
+    
+    // Update lewat entity dicek dengan @Version; jika bentrok dengan update lain, baca ulang dan terapkan lagi
+    private FinancialGoalResponse retryOnConflict(Supplier<FinancialGoalResponse> action) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> action.get());
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= MAX_UPDATE_ATTEMPTS) {
+                    throw new ConflictException("Goal sedang diubah bersamaan, silakan coba lagi");
+                }
+                log.debug("Goal update conflict, retrying (attempt {})", attempt);
             }
         }
-        
-        financialGoalRepository.saveAll(activeGoals);
     }
     
     private String getDefaultIcon(FinancialGoal.GoalType type) {
@@ -0,0 +1,120 @@
+package com.budgettracker.service.impl;
+
+import com.budgettracker.entity.Transaction;
+import com.budgettracker.repository.LedgerAggregateRepository;
+import com.budgettracker.repository.LedgerMonthlyAggregateRepository;
+import com.budgettracker.service.LedgerService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+public class LedgerServiceImpl implements LedgerService {
+    
+    private final LedgerAggregateRepository ledgerAggregateRepository;
+    private final LedgerMonthlyAggregateRepository ledgerMonthlyAggregateRepository;
+    
+    // Harus dipanggil di dalam transaksi yang sama dengan perubahan Transaction,
+    // supaya agregat tidak pernah berbeda dengan data aslinya
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Transaction transaction) {
+        apply(transaction, transaction.getAmount(), 1);
+    }
+    
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reverse(Transaction transaction) {
+        apply(transaction, transaction.getAmount().negate(), -1);
+        ledgerAggregateRepository.deleteIfEmpty(
+                transaction.getUser().getId(),
+                transaction.getDate(),
+                transaction.getType(),
+                transaction.getCategory().getId());
+        ledgerMonthlyAggregateRepository.deleteIfEmpty(
+                transaction.getUser().getId(),
+                YearMonth.from(transaction.getDate()).toString(),
+                transaction.getType(),
+                transaction.getCategory().getId());
+    }
+    
+    // Import massal: satu upsert per (user, tanggal, tipe, kategori), bukan per transaksi
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(List<Transaction> transactions) {
+        Map<LedgerKey, LedgerDelta> deltas = new LinkedHashMap<>();
+        Map<MonthlyKey, LedgerDelta> monthlyDeltas = new LinkedHashMap<>();
+        for (Transaction transaction : transactions) {
+            LedgerKey key = new LedgerKey(
+                    transaction.getUser().getId(),
+                    transaction.getDate(),
+                    transaction.getType(),
+                    transaction.getCategory().getId());
+            deltas.computeIfAbsent(key, k -> new LedgerDelta()).add(transaction.getAmount());
+            monthlyDeltas.computeIfAbsent(
+                    new MonthlyKey(key.userId(), YearMonth.from(key.date()).toString(), key.type(), key.categoryId()),
+                    k -> new LedgerDelta()).add(transaction.getAmount());
+        }
+        
+        deltas.forEach((key, delta) -> ledgerAggregateRepository.upsert(
+                key.userId(),
+                YearMonth.from(key.date()).toString(),
+                key.date(),
+                key.type().name(),
+                key.categoryId(),
+                delta.amount,
+                delta.count));
+        monthlyDeltas.forEach((key, delta) -> ledgerMonthlyAggregateRepository.upsert(
+                key.userId(),
+                key.period(),
+                key.type().name(),
+                key.categoryId(),
+                delta.amount,
+                delta.count));
+    }
+    
+    // Ledger harian dan rollup bulanan di-update bersama
+    private void apply(Transaction transaction, BigDecimal amount, int countDelta) {
+        String period = YearMonth.from(transaction.getDate()).toString();
+        ledgerAggregateRepository.upsert(
+                transaction.getUser().getId(),
+                period,
+                transaction.getDate(),
+                transaction.getType().name(),
+                transaction.getCategory().getId(),
+                amount,
+                countDelta);
+        ledgerMonthlyAggregateRepository.upsert(
+                transaction.getUser().getId(),
+                period,
+                transaction.getType().name(),
+                transaction.getCategory().getId(),
+                amount,
+                countDelta);
+    }
+    
+    private record LedgerKey(Integer userId, LocalDate date, Transaction.TransactionType type, Integer categoryId) {
+    }
+    
+    private record MonthlyKey(Integer userId, String period, Transaction.TransactionType type, Integer categoryId) {
+    }
+    
+    private static class LedgerDelta {
+        private BigDecimal amount = BigDecimal.ZERO;
+        private int count;
+        
+        private void add(BigDecimal value) {
+            amount = amount.add(value);
+            count++;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.budgettracker.service.impl;
+
+import com.budgettracker.entity.MonthlyBalance;
+import com.budgettracker.entity.Transaction;
+import com.budgettracker.exception.BadRequestException;
+import com.budgettracker.repository.MonthlyBalanceRepository;
+import com.budgettracker.service.MonthlyBalanceService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Menjaga invariant income >= expense per user per bulan (bulan tanggal transaksi). Pengecekan dan
+// penambahan expense (atau pengurangan income) terjadi di satu UPDATE bersyarat, jadi tetap benar walau dua request
+// datang bersamaan dari device atau node berbeda; row lock InnoDB hanya mengunci baris bulan milik user itu.
+@Service
+@RequiredArgsConstructor
+public class MonthlyBalanceServiceImpl implements MonthlyBalanceService {
+    
+    private final MonthlyBalanceRepository monthlyBalanceRepository;
+    
+    // Harus dipanggil di transaksi yang sama dengan perubahan Transaction, seperti LedgerService
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Transaction transaction) {
+        String period = YearMonth.from(transaction.getDate()).toString();
+        Integer userId = transaction.getUser().getId();
+        if (transaction.getType() == Transaction.TransactionType.EXPENSE) {
+            addExpense(userId, period, transaction.getAmount());
+        } else {
+            monthlyBalanceRepository.upsert(userId, period, transaction.getAmount(), BigDecimal.ZERO);
+        }
+    }
+    
+    // Membalik expense selalu boleh; membalik income (delete) ditolak jika sisa income tidak lagi menutup expense
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reverse(Transaction transaction) {
+        String period = YearMonth.from(transaction.getDate()).toString();
+        Integer userId = transaction.getUser().getId();
+        if (transaction.getType() == Transaction.TransactionType.EXPENSE) {
+            monthlyBalanceRepository.upsert(userId, period, BigDecimal.ZERO, transaction.getAmount().negate());
+        } else {
+            removeIncome(userId, period, transaction.getAmount());
+        }
+    }
+    
+    // Update dengan tipe dan bulan yang sama hanya menerapkan selisihnya, dan hanya kenaikan expense atau
+    // penurunan income yang dicek. Edit note/kategori tidak menyentuh monthly_balances, dan expense yang turun
+    // tetap lolos walau bulan itu sudah minus (mis. riwayat hasil backfill).
+    // Selain itu, perubahan yang melonggarkan batas (expense lama keluar, income baru masuk) diterapkan dulu,
+    // baru yang mengetatkan (income lama keluar, expense baru masuk). Dengan begitu hanya update yang hasil
+    // akhirnya melanggar invariant yang ditolak, misalnya income 100 -> 95 dengan expense 90 tetap lolos.
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void replace(Transaction previous, Transaction current) {
+        String period = YearMonth.from(current.getDate()).toString();
+        if (previous.getType() == current.getType()
+                && YearMonth.from(previous.getDate()).toString().equals(period)) {
+            BigDecimal delta = current.getAmount().subtract(previous.getAmount());
+            if (delta.signum() == 0) {
+                return;
+            }
+            // Selisih negatif (expense turun / income naik) diterapkan tanpa syarat oleh kedua helper
+            Integer userId = current.getUser().getId();
+            if (current.getType() == Transaction.TransactionType.EXPENSE) {
+                addExpense(userId, period, delta);
+            } else {
+                removeIncome(userId, period, delta.negate());
+            }
+            return;
+        }
+        
+        if (previous.getType() == Transaction.TransactionType.EXPENSE) {
+            reverse(previous);
+        }
+        if (current.getType() == Transaction.TransactionType.INCOME) {
+            record(current);
+        }
+        if (previous.getType() == Transaction.TransactionType.INCOME) {
+            reverse(previous);
+        }
+        if (current.getType() == Transaction.TransactionType.EXPENSE) {
+            record(current);
+        }
+    }
+    
+    // Import massal: income semua bulan ditambahkan dulu, lalu total expense per bulan dicek sekaligus.
+    // Bulan diproses berurutan supaya dua import bersamaan mengunci baris dengan urutan yang sama.
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(List<Transaction> transactions) {
+        if (transactions.isEmpty()) {
+            return;
+        }
+        Integer userId = transactions.get(0).getUser().getId();
+        Map<String, BigDecimal> incomes = new TreeMap<>();
+        Map<String, BigDecimal> expenses = new TreeMap<>();
+        for (Transaction transaction : transactions) {
+            Map<String, BigDecimal> totals = transaction.getType() == Transaction.TransactionType.EXPENSE
+                    ? expenses
+                    : incomes;
+            totals.merge(YearMonth.from(transaction.getDate()).toString(), transaction.getAmount(), BigDecimal::add);
+        }
+        
+        incomes.forEach((period, amount) -> monthlyBalanceRepository.upsert(userId, period, amount, BigDecimal.ZERO));
+        expenses.forEach((period, amount) -> addExpense(userId, period, amount));
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, MonthlyBalance> findByPeriods(Integer userId, Collection<String> periods) {
+        return monthlyBalanceRepository.findByUserIdAndPeriodIn(userId, periods).stream()
+                .collect(Collectors.toMap(MonthlyBalance::getPeriod, Function.identity()));
+    }
+    
+    private void addExpense(Integer userId, String period, BigDecimal amount) {
+        if (amount.signum() <= 0) {
+            monthlyBalanceRepository.upsert(userId, period, BigDecimal.ZERO, amount);
+            return;
+        }
+        int updated = monthlyBalanceRepository.addExpenseIfCovered(userId, period, amount);
+        if (updated == 0) {
+            // Bisa jadi baris bulan itu belum ada (belum pernah ada transaksi); buat lalu coba sekali lagi
+            monthlyBalanceRepository.upsert(userId, period, BigDecimal.ZERO, BigDecimal.ZERO);
+            updated = monthlyBalanceRepository.addExpenseIfCovered(userId, period, amount);
+        }
+        if (updated == 0) {
+            throw new BadRequestException("Income bulan " + period + " tidak mencukupi");
+        }
+    }
+    
+    private void removeIncome(Integer userId, String period, BigDecimal amount) {
+        if (amount.signum() <= 0) {
+            monthlyBalanceRepository.upsert(userId, period, amount.negate(), BigDecimal.ZERO);
+            return;
+        }
+        if (monthlyBalanceRepository.removeIncomeIfCovered(userId, period, amount) == 0) {
+            throw new BadRequestException("Income bulan " + period + " sudah terpakai untuk pengeluaran");
+        }
+    }
+}
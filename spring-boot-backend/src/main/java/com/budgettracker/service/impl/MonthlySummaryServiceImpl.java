@@ -1,37 +1,41 @@
 package com.budgettracker.service.impl;
 
+import com.budgettracker.config.OpenRouterProperties;
 import com.budgettracker.dto.request.CreateMonthlySummaryRequest;
 import com.budgettracker.dto.request.UpdateMonthlySummaryRequest;
 import com.budgettracker.dto.response.AIGenerateResponse;
 import com.budgettracker.dto.response.MonthlySummaryResponse;
+import com.budgettracker.dto.response.SummaryStreamEvent;
 import com.budgettracker.entity.MonthlySummary;
 import com.budgettracker.entity.Transaction;
 import com.budgettracker.entity.User;
 import com.budgettracker.exception.BadRequestException;
 import com.budgettracker.exception.NotFoundException;
-import com.budgettracker.exception.RateLimitException;
 import com.budgettracker.mapper.MonthlySummaryMapper;
 import com.budgettracker.repository.MonthlySummaryRepository;
 import com.budgettracker.repository.TransactionRepository;
 import com.budgettracker.repository.UserRepository;
 import com.budgettracker.service.MonthlySummaryService;
+import com.budgettracker.service.OpenRouterService;
+import com.budgettracker.service.SummaryCacheService;
+import com.budgettracker.service.SummaryPdfCacheService;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.reactive.function.client.WebClient;
-import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Locale;
 import java.util.stream.Collectors;
@@ -45,17 +49,13 @@ public class MonthlySummaryServiceImpl implements MonthlySummaryService {
     private final UserRepository userRepository;
     private final TransactionRepository transactionRepository;
     private final MonthlySummaryMapper monthlySummaryMapper;
+    private final OpenRouterService openRouterService;
+    private final OpenRouterProperties openRouterProperties;
+    private final SummaryCacheService summaryCacheService;
+    private final SummaryPdfCacheService summaryPdfCacheService;
     
-    private final ObjectMapper objectMapper = new ObjectMapper();
-    
-    @Value("${openrouter.api-key}")
-    private String openRouterApiKey;
-    
-    @Value("${openrouter.api-url}")
-    private String openRouterApiUrl;
-    
-    @Value("${openrouter.model}")
-    private String openRouterModel;
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
     
     @Override
     public List<MonthlySummaryResponse> getAll() {
@@ -95,6 +95,7 @@ public class MonthlySummaryServiceImpl implements MonthlySummaryService {
                 .build();
         
         summary = monthlySummaryRepository.save(summary);
+        summaryPdfCacheService.prerender(summary.getId());
         return monthlySummaryMapper.toResponse(summary);
     }
     
@@ -117,6 +118,7 @@ public class MonthlySummaryServiceImpl implements MonthlySummaryService {
         if (request.getAiRecomendation() != null) summary.setAiRecomendation(request.getAiRecomendation());
         
         summary = monthlySummaryRepository.save(summary);
+        summaryPdfCacheService.prerender(summary.getId());
         return monthlySummaryMapper.toResponse(summary);
     }
     
@@ -126,14 +128,69 @@ public class MonthlySummaryServiceImpl implements MonthlySummaryService {
         MonthlySummary summary = monthlySummaryRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Summary Bulanan Tidak ditemukan!"));
         monthlySummaryRepository.delete(summary);
+        summaryPdfCacheService.evict(id);
     }
     
     @Override
-    @Transactional
     public AIGenerateResponse generate(Integer userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("Pengguna Tidak Ditemukan!"));
+        return generateAsync(userId).block();
+    }
+    
+    // Validasi dan query dijalankan langsung (error 400 kembali ke caller), panggilan AI
+    // berjalan non-blocking, dan hasilnya disimpan di thread boundedElastic
+    @Override
+    public Mono<AIGenerateResponse> generateAsync(Integer userId) {
+        SummaryGeneration generation = prepareGeneration(userId);
+        
+        // Data bulan ini tidak berubah sejak generate sebelumnya: pakai hasil AI yang sama tanpa memanggil OpenRouter
+        AIGenerateResponse cached = summaryCacheService.get(generation.cacheKey()).orElse(null);
+        if (cached != null) {
+            log.info("User {} summary served from cache ({})", userId, generation.cacheKey());
+            return Mono.fromCallable(() -> persistGeneration(generation, cached))
+                    .subscribeOn(Schedulers.boundedElastic());
+        }
         
+        return openRouterService.complete(generation.body())
+                .publishOn(Schedulers.boundedElastic())
+                .map(content -> {
+                    AIGenerateResponse aiResponse = parseAIResponse(
+                            content, generation.totalIncome(), generation.totalExpense());
+                    summaryCacheService.put(generation.cacheKey(), openRouterProperties.getModel(), aiResponse);
+                    return persistGeneration(generation, aiResponse);
+                });
+    }
+    
+    // Potongan teks dari model diteruskan apa adanya; setelah stream selesai, teks lengkap di-parse dan disimpan
+    // seperti generateAsync. Jika client memutus koneksi sebelum selesai, tidak ada summary yang disimpan.
+    @Override
+    public Flux<SummaryStreamEvent> generateStream(Integer userId) {
+        SummaryGeneration generation = prepareGeneration(userId);
+        
+        AIGenerateResponse cached = summaryCacheService.get(generation.cacheKey()).orElse(null);
+        if (cached != null) {
+            log.info("User {} summary stream served from cache ({})", userId, generation.cacheKey());
+            return Mono.fromCallable(() -> SummaryStreamEvent.done(persistGeneration(generation, cached)))
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .flux();
+        }
+        
+        return Flux.defer(() -> {
+            StringBuilder content = new StringBuilder();
+            return openRouterService.stream(generation.body())
+                    .doOnNext(content::append)
+                    .map(SummaryStreamEvent::token)
+                    .concatWith(Mono.fromCallable(() -> {
+                        AIGenerateResponse aiResponse = parseAIResponse(
+                                content.toString(), generation.totalIncome(), generation.totalExpense());
+                        summaryCacheService.put(generation.cacheKey(), openRouterProperties.getModel(), aiResponse);
+                        return SummaryStreamEvent.done(persistGeneration(generation, aiResponse));
+                    }).subscribeOn(Schedulers.boundedElastic()))
+                    .doOnError(e -> log.warn("Summary stream for user {} failed: {}", userId, e.getMessage()));
+        });
+    }
+    
+    @Override
+    public void validateGenerateLimit(Integer userId) {
         LocalDate now = LocalDate.now();
         LocalDateTime startOfDay = now.atStartOfDay();
         LocalDateTime endOfDay = now.atTime(23, 59, 59);
@@ -153,32 +210,44 @@ public class MonthlySummaryServiceImpl implements MonthlySummaryService {
         } else {
             log.info("User {} generating first summary today (0/2)", userId);
         }
+    }
+    
+    private SummaryGeneration prepareGeneration(Integer userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new NotFoundException("Pengguna Tidak Ditemukan!"));
+        
+        validateGenerateLimit(userId);
+        
+        LocalDate now = LocalDate.now();
         
         // Get transactions for current month
         LocalDate startOfMonth = now.withDayOfMonth(1);
         LocalDate endOfMonth = now.withDayOfMonth(now.lengthOfMonth());
         
-        List<Transaction> transactions = transactionRepository.findByUserIdAndDateBetween(
-                userId, startOfMonth, endOfMonth);
+        List<Transaction> transactions = new java.util.ArrayList<>(transactionRepository.findByUserIdAndDateBetween(
+                userId, startOfMonth, endOfMonth));
+        // Urutan dan skala angka dibuat tetap supaya data yang sama selalu menghasilkan payload (dan hash cache) yang sama
+        transactions.sort(Comparator.comparing(Transaction::getDate).thenComparing(Transaction::getId));
         
-        java.util.concurrent.atomic.AtomicInteger totalIncome = new java.util.concurrent.atomic.AtomicInteger(0);
-        java.util.concurrent.atomic.AtomicInteger totalExpense = new java.util.concurrent.atomic.AtomicInteger(0);
+        BigDecimal totalIncome = BigDecimal.ZERO;
+        BigDecimal totalExpense = BigDecimal.ZERO;
+        List<Object> formattedTx = new java.util.ArrayList<>(transactions.size());
         
-        List<Object> formattedTx = transactions.stream().map(tx -> {
-            int amount = Integer.parseInt(tx.getAmount());
+        for (Transaction tx : transactions) {
+            BigDecimal amount = tx.getAmount().setScale(2, RoundingMode.HALF_UP);
             if (tx.getType() == Transaction.TransactionType.INCOME) {
-                totalIncome.addAndGet(amount);
+                totalIncome = totalIncome.add(amount);
             } else {
-                totalExpense.addAndGet(amount);
+                totalExpense = totalExpense.add(amount);
             }
             
-            return java.util.Map.of(
+            formattedTx.add(java.util.Map.of(
                     "type", tx.getType() == Transaction.TransactionType.INCOME ? "pemasukan" : "pengeluaran",
                     "category", tx.getCategory() != null ? tx.getCategory().getName() : "Lainnya",
                     "amount", amount,
                     "date", tx.getDate().format(DateTimeFormatter.ISO_LOCAL_DATE)
-            );
-        }).collect(Collectors.toList());
+            ));
+        }
         
         String month = now.format(DateTimeFormatter.ofPattern("MMMM yyyy", Locale.forLanguageTag("id-ID")));
         
@@ -187,8 +256,8 @@ public class MonthlySummaryServiceImpl implements MonthlySummaryService {
                 "user", user.getName(),
                 "month", month,
                 "transactions", formattedTx,
-                "total_income", totalIncome.get(),
-                "total_expense", totalExpense.get()
+                "total_income", totalIncome,
+                "total_expense", totalExpense
         );
         
         // Build messages with stronger emphasis on trend_analysis
@@ -249,197 +318,35 @@ public class MonthlySummaryServiceImpl implements MonthlySummaryService {
         );
         
         java.util.Map<String, Object> body = java.util.Map.of(
-                "model", openRouterModel,
+                "model", openRouterProperties.getModel(),
                 "messages", List.of(systemMessage, userMessage),
                 "response_format", java.util.Map.of("type", "json_object")
         );
         
-        // Call OpenRouter API with retry
-        String responseContent = callOpenRouterWithRetry(body);
-        
-        // Parse response
-        AIGenerateResponse aiResponse = parseAIResponse(responseContent, totalIncome.get(), totalExpense.get());
-        
+        return new SummaryGeneration(userId, now, totalIncome, totalExpense, body, summaryCacheService.fingerprint(body));
+    }
+    
+    private AIGenerateResponse persistGeneration(SummaryGeneration generation, AIGenerateResponse aiResponse) {
         // Save to database
         MonthlySummary summary = MonthlySummary.builder()
-                .user(user)
-                .month(now.format(DateTimeFormatter.ofPattern("MMMM", Locale.forLanguageTag("id-ID"))))
-                .year(String.valueOf(now.getYear()))
-                .totalIncome(String.valueOf(totalIncome.get()))
-                .totalExpense(String.valueOf(totalExpense.get()))
-                .balance(String.valueOf(totalIncome.get() - totalExpense.get()))
+                .user(userRepository.getReferenceById(generation.userId()))
+                .month(generation.date().format(DateTimeFormatter.ofPattern("MMMM", Locale.forLanguageTag("id-ID"))))
+                .year(String.valueOf(generation.date().getYear()))
+                .totalIncome(generation.totalIncome())
+                .totalExpense(generation.totalExpense())
+                .balance(generation.totalIncome().subtract(generation.totalExpense()))
                 .aiSummary(aiResponse.getSummary())
                 .aiRecomendation(String.join("\n", aiResponse.getRecommendations()))
                 .aiTrendAnalysis(aiResponse.getTrendAnalysis())
                 .build();
         
-        monthlySummaryRepository.save(summary);
+        summary = monthlySummaryRepository.save(summary);
+        summaryPdfCacheService.prerender(summary.getId());
         
         return aiResponse;
     }
     
-    private String callOpenRouterWithRetry(java.util.Map<String, Object> body) {
-        // Validate API key
-        if (openRouterApiKey == null || openRouterApiKey.trim().isEmpty()) {
-            throw new BadRequestException("OpenRouter API key tidak dikonfigurasi. Silakan set OPENROUTER_API_KEY environment variable.");
-        }
-        
-        WebClient webClient = WebClient.builder()
-                .baseUrl(openRouterApiUrl)
-                .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + openRouterApiKey.trim())
-                .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
-                .defaultHeader("HTTP-Referer", "https://budget-tracker-app.com") // Optional: untuk tracking
-                .defaultHeader("X-Title", "Budget Tracker") // Optional: untuk tracking
-                .build();
-        
-        int maxRetries = 2; // Kurangi retry untuk menghindari rate limit
-        Exception lastException = null;
-        boolean isRateLimited = false;
-        
-        for (int i = 0; i < maxRetries; i++) {
-            try {
-                log.debug("Calling OpenRouter API (attempt {}/{})", i + 1, maxRetries);
-                log.debug("API URL: {}", openRouterApiUrl);
-                log.debug("Model: {}", openRouterModel);
-                
-                String response = webClient.post()
-                        .bodyValue(body)
-                        .retrieve()
-                        .onStatus(status -> status.is4xxClientError() || status.is5xxServerError(), 
-                                clientResponse -> {
-                                    HttpStatus httpStatus = HttpStatus.valueOf(clientResponse.statusCode().value());
-                                    
-                                    return clientResponse.bodyToMono(String.class)
-                                            .flatMap(errorBody -> {
-                                                log.error("OpenRouter API Error: Status {} - Body: {}", 
-                                                        clientResponse.statusCode(), errorBody);
-                                                
-                                                // Handle 429 Rate Limit khusus
-                                                if (httpStatus == HttpStatus.TOO_MANY_REQUESTS) {
-                                                    String errorMessage = "Rate limit tercapai. Silakan tunggu beberapa saat sebelum mencoba lagi.";
-                                                    try {
-                                                        JsonNode errorJson = objectMapper.readTree(errorBody);
-                                                        if (errorJson.has("error") && errorJson.get("error").has("message")) {
-                                                            errorMessage = "Rate limit tercapai: " + 
-                                                                    errorJson.get("error").get("message").asText() + 
-                                                                    ". Silakan tunggu beberapa saat sebelum mencoba lagi.";
-                                                        }
-                                                    } catch (Exception e) {
-                                                        // Use default message
-                                                    }
-                                                    return Mono.error(new RateLimitException(errorMessage));
-                                                }
-                                                
-                                                // Handle error lainnya
-                                                try {
-                                                    JsonNode errorJson = objectMapper.readTree(errorBody);
-                                                    String errorMessage = errorJson.has("error") && errorJson.get("error").has("message")
-                                                            ? errorJson.get("error").get("message").asText()
-                                                            : errorBody;
-                                                    
-                                                    // Untuk 401, 403, 400 - jangan retry
-                                                    if (httpStatus == HttpStatus.UNAUTHORIZED || 
-                                                        httpStatus == HttpStatus.FORBIDDEN || 
-                                                        httpStatus == HttpStatus.BAD_REQUEST) {
-                                                        return Mono.error(new BadRequestException(
-                                                                "Gagal menghubungi AI Service: " + clientResponse.statusCode() + " " + errorMessage));
-                                                    }
-                                                    
-                                                    return Mono.error(new BadRequestException(
-                                                            "Gagal menghubungi AI Service: " + clientResponse.statusCode() + " " + errorMessage));
-                                                } catch (Exception e) {
-                                                    return Mono.error(new BadRequestException(
-                                                            "Gagal menghubungi AI Service: " + clientResponse.statusCode() + " " + errorBody));
-                                                }
-                                            });
-                                })
-                        .bodyToMono(String.class)
-                        .block();
-                
-                if (response == null || response.trim().isEmpty()) {
-                    throw new BadRequestException("Response dari AI Service kosong");
-                }
-                
-                JsonNode jsonResponse = objectMapper.readTree(response);
-                
-                if (jsonResponse.has("error")) {
-                    String errorMsg = jsonResponse.get("error").has("message") 
-                            ? jsonResponse.get("error").get("message").asText()
-                            : jsonResponse.get("error").toString();
-                    throw new BadRequestException("Gagal menghubungi AI Service: " + errorMsg);
-                }
-                
-                if (!jsonResponse.has("choices") || jsonResponse.get("choices").size() == 0) {
-                    throw new BadRequestException("Response dari AI Service tidak memiliki choices");
-                }
-                
-                String content = jsonResponse.get("choices").get(0).get("message").get("content").asText();
-                log.info("Raw AI response content length: {} characters", content.length());
-                log.debug("Raw AI response content (first 500 chars): {}", 
-                        content.length() > 500 ? content.substring(0, 500) + "..." : content);
-                return content;
-                
-            } catch (RateLimitException e) {
-                // Rate limit - jangan retry, langsung throw dengan pesan yang jelas
-                isRateLimited = true;
-                throw e;
-            } catch (BadRequestException e) {
-                // Re-throw BadRequestException immediately (don't retry untuk client errors)
-                throw e;
-            } catch (WebClientResponseException e) {
-                // Handle WebClientResponseException khusus
-                if (e.getStatusCode() == HttpStatus.TOO_MANY_REQUESTS) {
-                    isRateLimited = true;
-                    throw new RateLimitException("Rate limit tercapai. Silakan tunggu beberapa saat sebelum mencoba lagi.");
-                }
-                lastException = e;
-                log.warn("OpenRouter API call failed (attempt {}/{}): {} - {}", 
-                        i + 1, maxRetries, e.getStatusCode(), e.getMessage());
-                if (i < maxRetries - 1) {
-                    // Exponential backoff: 5s, 10s, 20s
-                    long delayMs = 5000L * (long) Math.pow(2, i);
-                    try {
-                        log.info("Retrying after {}ms...", delayMs);
-                        Thread.sleep(delayMs);
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
-                        throw new BadRequestException("Request interrupted");
-                    }
-                }
-            } catch (Exception e) {
-                lastException = e;
-                log.warn("OpenRouter API call failed (attempt {}/{}): {}", i + 1, maxRetries, e.getMessage());
-                if (i < maxRetries - 1) {
-                    // Exponential backoff: 5s, 10s
-                    long delayMs = 5000L * (long) Math.pow(2, i);
-                    try {
-                        log.info("Retrying after {}ms...", delayMs);
-                        Thread.sleep(delayMs);
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
-                        throw new BadRequestException("Request interrupted");
-                    }
-                }
-            }
-        }
-        
-        // Jika masih rate limited setelah retry
-        if (isRateLimited) {
-            throw new RateLimitException("Rate limit tercapai setelah beberapa percobaan. Silakan tunggu beberapa menit sebelum mencoba lagi.");
-        }
-        
-        String errorMessage = "Gagal menghubungi AI Service setelah " + maxRetries + " percobaan";
-        if (lastException != null) {
-            if (lastException.getMessage() != null) {
-                errorMessage += ": " + lastException.getMessage();
-            } else {
-                errorMessage += ": " + lastException.getClass().getSimpleName();
-            }
-        }
-        throw new BadRequestException(errorMessage);
-    }
-    
-    private AIGenerateResponse parseAIResponse(String content, int totalIncome, int totalExpense) {
+    private AIGenerateResponse parseAIResponse(String content, BigDecimal totalIncome, BigDecimal totalExpense) {
         try {
             // Remove markdown code blocks if present
             String cleaned = content.replaceAll("```json\\s*|\\s*```", "").trim();
@@ -479,7 +386,7 @@ public class MonthlySummaryServiceImpl implements MonthlySummaryService {
                 // Generate fallback trend analysis based on available data
                 trendAnalysis = "Berdasarkan data keuangan yang tersedia, " +
                         "dapat dilihat bahwa kondisi keuangan menunjukkan " +
-                        (totalIncome > totalExpense ? "surplus yang positif. " : "perlu perhatian lebih. ") +
+                        (totalIncome.compareTo(totalExpense) > 0 ? "surplus yang positif. " : "perlu perhatian lebih. ") +
                         "Pola pengeluaran dan pemasukan perlu dianalisis lebih lanjut untuk " +
                         "mengoptimalkan pengelolaan keuangan ke depan. " +
                         "Disarankan untuk melakukan evaluasi rutin terhadap kebiasaan keuangan " +
@@ -500,6 +407,13 @@ public class MonthlySummaryServiceImpl implements MonthlySummaryService {
             throw new BadRequestException("Gagal Mengurai Response JSON dari LLM: " + e.getMessage() + ". Harap Di Coba Lagi!");
         }
     }
+    
+    private record SummaryGeneration(
+            Integer userId,
+            LocalDate date,
+            BigDecimal totalIncome,
+            BigDecimal totalExpense,
+            java.util.Map<String, Object> body,
+            String cacheKey) {
+    }
 }
-
-
@@ -0,0 +1,309 @@
+package com.budgettracker.service.impl;
+
+import com.budgettracker.config.OpenRouterProperties;
+import com.budgettracker.exception.BadRequestException;
+import com.budgettracker.exception.RateLimitException;
+import com.budgettracker.service.OpenRouterService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.TimeoutException;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OpenRouterServiceImpl implements OpenRouterService {
+    
+    private final WebClient openRouterWebClient;
+    private final OpenRouterProperties properties;
+    private final MeterRegistry meterRegistry;
+    
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    
+    private static final ParameterizedTypeReference<ServerSentEvent<String>> SSE_TYPE =
+            new ParameterizedTypeReference<>() {};
+    
+    @Override
+    public Mono<String> complete(Map<String, Object> body) {
+        String apiKey = properties.getApiKey();
+        if (apiKey == null || apiKey.trim().isEmpty()) {
+            return Mono.error(new BadRequestException(
+                    "OpenRouter API key tidak dikonfigurasi. Silakan set OPENROUTER_API_KEY environment variable."));
+        }
+        
+        int maxAttempts = Math.max(properties.getMaxAttempts(), 1);
+        
+        // openrouter.call = total termasuk retry dan backoff; openrouter.request = per percobaan HTTP
+        return Mono.defer(() -> {
+            Timer.Sample call = Timer.start(meterRegistry);
+            return Mono.defer(() -> sendRequest(apiKey, body))
+                    // Hanya error jaringan, timeout dan 5xx yang di-retry; 4xx dan 429 langsung dikembalikan
+                    .retryWhen(Retry.backoff(maxAttempts - 1, Duration.ofMillis(properties.getRetryMinBackoffMs()))
+                            .maxBackoff(Duration.ofMillis(properties.getRetryMaxBackoffMs()))
+                            .jitter(properties.getRetryJitter())
+                            .filter(this::isRetryable)
+                            .doBeforeRetry(signal -> {
+                                retryCounter(signal.failure()).increment();
+                                log.warn("OpenRouter API call failed (attempt {}/{}): {}",
+                                        signal.totalRetries() + 1, maxAttempts, signal.failure().getMessage());
+                            })
+                            .onRetryExhaustedThrow((spec, signal) -> new BadRequestException(
+                                    "Gagal menghubungi AI Service setelah " + maxAttempts + " percobaan: " +
+                                    describe(signal.failure()))))
+                    .map(this::extractContent)
+                    .doOnSuccess(content -> call.stop(timer("openrouter.call", "success")))
+                    .doOnError(e -> call.stop(timer("openrouter.call", outcomeOf(e))));
+        });
+    }
+    
+    @Override
+    public Flux<String> stream(Map<String, Object> body) {
+        String apiKey = properties.getApiKey();
+        if (apiKey == null || apiKey.trim().isEmpty()) {
+            return Flux.error(new BadRequestException(
+                    "OpenRouter API key tidak dikonfigurasi. Silakan set OPENROUTER_API_KEY environment variable."));
+        }
+        
+        Map<String, Object> streamBody = new HashMap<>(body);
+        streamBody.put("stream", true);
+        streamBody.put("stream_options", Map.of("include_usage", true));
+        int maxAttempts = Math.max(properties.getMaxAttempts(), 1);
+        
+        // Retry hanya sebelum token pertama; setelah itu client sudah menerima sebagian isi
+        return Flux.defer(() -> {
+            Timer.Sample call = Timer.start(meterRegistry);
+            AtomicBoolean started = new AtomicBoolean(false);
+            return Flux.defer(() -> sendStreamRequest(apiKey, streamBody))
+                    .retryWhen(Retry.backoff(maxAttempts - 1, Duration.ofMillis(properties.getRetryMinBackoffMs()))
+                            .maxBackoff(Duration.ofMillis(properties.getRetryMaxBackoffMs()))
+                            .jitter(properties.getRetryJitter())
+                            .filter(e -> !started.get() && isRetryable(e))
+                            .doBeforeRetry(signal -> {
+                                retryCounter(signal.failure()).increment();
+                                log.warn("OpenRouter stream failed before first token (attempt {}/{}): {}",
+                                        signal.totalRetries() + 1, maxAttempts, signal.failure().getMessage());
+                            })
+                            .onRetryExhaustedThrow((spec, signal) -> new BadRequestException(
+                                    "Gagal menghubungi AI Service setelah " + maxAttempts + " percobaan: " +
+                                    describe(signal.failure()))))
+                    .doOnNext(delta -> {
+                        if (started.compareAndSet(false, true)) {
+                            call.stop(timer("openrouter.first_token", "success"));
+                        }
+                    })
+                    .doFinally(signal -> {
+                        String outcome = signal == SignalType.ON_COMPLETE ? "success"
+                                : signal == SignalType.CANCEL ? "cancelled" : "error";
+                        call.stop(timer("openrouter.stream", outcome));
+                    });
+        });
+    }
+    
+    // Event SSE OpenRouter: komentar keep-alive (tanpa data), chunk JSON dengan choices[0].delta.content,
+    // chunk terakhir berisi usage, lalu "[DONE]"
+    private Flux<String> sendStreamRequest(String apiKey, Map<String, Object> body) {
+        return openRouterWebClient.post()
+                .headers(headers -> headers.setBearerAuth(apiKey.trim()))
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .bodyValue(body)
+                .retrieve()
+                .onStatus(HttpStatusCode::isError, this::toException)
+                .bodyToFlux(SSE_TYPE)
+                .map(event -> event.data() != null ? event.data().trim() : "")
+                .takeWhile(data -> !"[DONE]".equals(data))
+                .filter(data -> !data.isEmpty())
+                .concatMap(data -> Mono.justOrEmpty(extractDelta(data)));
+    }
+    
+    private String extractDelta(String chunk) {
+        JsonNode json;
+        try {
+            json = objectMapper.readTree(chunk);
+        } catch (Exception e) {
+            throw new BadRequestException("Response stream dari AI Service tidak valid: " + e.getMessage());
+        }
+        
+        // Error setelah stream dimulai dikirim sebagai chunk, bukan status HTTP
+        if (json.has("error")) {
+            String errorMsg = json.get("error").has("message")
+                    ? json.get("error").get("message").asText()
+                    : json.get("error").toString();
+            throw new BadRequestException("Gagal menghubungi AI Service: " + errorMsg);
+        }
+        
+        recordTokenUsage(json.path("usage"));
+        
+        String content = json.path("choices").path(0).path("delta").path("content").asText("");
+        return content.isEmpty() ? null : content;
+    }
+    
+    private Mono<String> sendRequest(String apiKey, Map<String, Object> body) {
+        Timer.Sample request = Timer.start(meterRegistry);
+        return openRouterWebClient.post()
+                .headers(headers -> headers.setBearerAuth(apiKey.trim()))
+                .bodyValue(body)
+                .retrieve()
+                .onStatus(HttpStatusCode::isError, this::toException)
+                .bodyToMono(String.class)
+                .doOnSuccess(response -> request.stop(timer("openrouter.request", "success")))
+                .doOnError(e -> request.stop(timer("openrouter.request", outcomeOf(e))));
+    }
+    
+    private Mono<? extends Throwable> toException(ClientResponse clientResponse) {
+        HttpStatusCode status = clientResponse.statusCode();
+        
+        return clientResponse.bodyToMono(String.class)
+                .defaultIfEmpty("")
+                .map(errorBody -> {
+                    log.error("OpenRouter API Error: Status {} - Body: {}", status, errorBody);
+                    String errorMessage = errorMessageOf(errorBody);
+                    
+                    if (status.value() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+                        return new RateLimitException(errorMessage != null
+                                ? "Rate limit tercapai: " + errorMessage + ". Silakan tunggu beberapa saat sebelum mencoba lagi."
+                                : "Rate limit tercapai. Silakan tunggu beberapa saat sebelum mencoba lagi.");
+                    }
+                    
+                    String detail = status + " " + (errorMessage != null ? errorMessage : errorBody);
+                    if (status.is5xxServerError()) {
+                        return new UpstreamServerException(detail);
+                    }
+                    return new BadRequestException("Gagal menghubungi AI Service: " + detail);
+                });
+    }
+    
+    private String extractContent(String response) {
+        if (response == null || response.trim().isEmpty()) {
+            throw new BadRequestException("Response dari AI Service kosong");
+        }
+        
+        JsonNode jsonResponse;
+        try {
+            jsonResponse = objectMapper.readTree(response);
+        } catch (Exception e) {
+            throw new BadRequestException("Response dari AI Service tidak valid: " + e.getMessage());
+        }
+        
+        if (jsonResponse.has("error")) {
+            String errorMsg = jsonResponse.get("error").has("message")
+                    ? jsonResponse.get("error").get("message").asText()
+                    : jsonResponse.get("error").toString();
+            throw new BadRequestException("Gagal menghubungi AI Service: " + errorMsg);
+        }
+        
+        if (!jsonResponse.has("choices") || jsonResponse.get("choices").size() == 0) {
+            throw new BadRequestException("Response dari AI Service tidak memiliki choices");
+        }
+        
+        recordTokenUsage(jsonResponse.path("usage"));
+        
+        String content = jsonResponse.get("choices").get(0).get("message").get("content").asText();
+        log.info("Raw AI response content length: {} characters", content.length());
+        log.debug("Raw AI response content (first 500 chars): {}",
+                content.length() > 500 ? content.substring(0, 500) + "..." : content);
+        return content;
+    }
+    
+    private void recordTokenUsage(JsonNode usage) {
+        if (usage.isMissingNode() || usage.isNull()) {
+            return;
+        }
+        tokenCounter("prompt").increment(usage.path("prompt_tokens").asDouble(0));
+        tokenCounter("completion").increment(usage.path("completion_tokens").asDouble(0));
+    }
+    
+    private Timer timer(String name, String outcome) {
+        return Timer.builder(name)
+                .tag("model", modelTag())
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+    
+    private Counter retryCounter(Throwable failure) {
+        return Counter.builder("openrouter.retries")
+                .tag("model", modelTag())
+                .tag("reason", outcomeOf(failure))
+                .register(meterRegistry);
+    }
+    
+    private Counter tokenCounter(String type) {
+        return Counter.builder("openrouter.tokens")
+                .baseUnit("tokens")
+                .tag("model", modelTag())
+                .tag("type", type)
+                .register(meterRegistry);
+    }
+    
+    private String modelTag() {
+        return properties.getModel() != null ? properties.getModel() : "unknown";
+    }
+    
+    private String outcomeOf(Throwable e) {
+        if (e instanceof RateLimitException) {
+            return "rate_limited";
+        }
+        if (e instanceof UpstreamServerException) {
+            return "server_error";
+        }
+        if (e instanceof TimeoutException) {
+            return "timeout";
+        }
+        if (e instanceof WebClientRequestException) {
+            return "io_error";
+        }
+        if (e instanceof BadRequestException) {
+            return "client_error";
+        }
+        return "error";
+    }
+    
+    private boolean isRetryable(Throwable e) {
+        return e instanceof UpstreamServerException
+                || e instanceof WebClientRequestException
+                || e instanceof TimeoutException;
+    }
+    
+    private String errorMessageOf(String errorBody) {
+        try {
+            JsonNode errorJson = objectMapper.readTree(errorBody);
+            if (errorJson.has("error") && errorJson.get("error").has("message")) {
+                return errorJson.get("error").get("message").asText();
+            }
+        } catch (Exception e) {
+            // Body bukan JSON
+        }
+        return null;
+    }
+    
+    private String describe(Throwable e) {
+        return e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+    }
+    
+    private static class UpstreamServerException extends RuntimeException {
+        UpstreamServerException(String message) {
+            super(message);
+        }
+    }
+}
@@ -2,12 +2,26 @@ package com.budgettracker.service.impl;
 
 import com.budgettracker.entity.MonthlySummary;
 import com.budgettracker.service.PDFExportService;
+import com.itextpdf.html2pdf.ConverterProperties;
 import com.itextpdf.html2pdf.HtmlConverter;
+import com.itextpdf.html2pdf.resolver.font.DefaultFontProvider;
+import com.itextpdf.io.font.FontProgramFactory;
+import com.itextpdf.io.font.PdfEncodings;
+import com.itextpdf.io.font.constants.StandardFontFamilies;
+import com.itextpdf.layout.font.FontProvider;
+import com.itextpdf.layout.font.FontSet;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.stereotype.Service;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.text.NumberFormat;
 import java.util.Locale;
 
@@ -15,46 +29,15 @@ import java.util.Locale;
 @Slf4j
 public class PDFExportServiceImpl implements PDFExportService {
     
-    @Override
-    public byte[] generateSummaryPDF(MonthlySummary summary) {
-        try {
-            String htmlContent = generateHTMLContent(summary);
-            
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            HtmlConverter.convertToPdf(htmlContent, outputStream);
-            
-            return outputStream.toByteArray();
-        } catch (Exception e) {
-            log.error("Error generating PDF: {}", e.getMessage(), e);
-            throw new RuntimeException("Gagal membuat PDF: " + e.getMessage());
-        }
-    }
-    
-    private String generateHTMLContent(MonthlySummary summary) {
-        String totalIncome = formatCurrency(summary.getTotalIncome());
-        String totalExpense = formatCurrency(summary.getTotalExpense());
-        String balance = formatCurrency(summary.getBalance());
-        
-        String recommendations = "";
-        if (summary.getAiRecomendation() != null && !summary.getAiRecomendation().isEmpty()) {
-            String[] recs = summary.getAiRecomendation().split("\n");
-            StringBuilder recBuilder = new StringBuilder();
-            for (String rec : recs) {
-                if (!rec.trim().isEmpty()) {
-                    recBuilder.append("<li>").append(rec.trim()).append("</li>");
-                }
-            }
-            recommendations = recBuilder.toString();
-        }
-        
-        return """
+    // Template di-split sekali saat class dimuat; render cukup menyambung potongan tanpa mem-parse format string
+    private static final String[] TEMPLATE = ("""
             <!DOCTYPE html>
             <html>
             <head>
                 <meta charset="UTF-8">
                 <style>
                     body {
-                        font-family: 'Segoe UI', Tahoma, Geneva, Verdana, sans-serif;
+                        font-family: 'Segoe UI', Tahoma, Geneva, Verdana, 'Noto Emoji', sans-serif;
                         margin: 40px;
                         color: #333;
                         line-height: 1.6;
@@ -189,27 +172,110 @@ public class PDFExportServiceImpl implements PDFExportService {
                 </div>
             </body>
             </html>
-            """.formatted(
+            """).split("%s", -1);
+    private static final int TEMPLATE_LENGTH = String.join("", TEMPLATE).length();
+    
+    private static final ThreadLocal<NumberFormat> CURRENCY_FORMAT = ThreadLocal.withInitial(
+            () -> NumberFormat.getCurrencyInstance(Locale.forLanguageTag("id-ID")));
+    
+    // Font dimuat sekali. FontProvider menyimpan cache pemilihan font yang tidak thread-safe, jadi tiap render
+    // membuat provider baru di atas FontSet yang sama (murah, tanpa membaca file font lagi)
+    private final FontSet fontSet;
+    private final ConverterProperties baseProperties;
+    
+    public PDFExportServiceImpl(@Value("${pdf.render.font-dirs:}") String fontDirs) {
+        DefaultFontProvider fontProvider = new DefaultFontProvider(true, true, false);
+        // Font tambahan (mis. NotoEmoji-Regular.ttf untuk ikon di judul section) dari classpath fonts/ dan direktori config
+        int loaded = loadClasspathFonts(fontProvider);
+        for (String dir : fontDirs.split(",")) {
+            if (!dir.isBlank()) {
+                loaded += fontProvider.addDirectory(dir.trim());
+            }
+        }
+        this.fontSet = fontProvider.getFontSet();
+        this.baseProperties = new ConverterProperties().setCharset(StandardCharsets.UTF_8.name());
+        log.info("PDF renderer ready with {} fonts ({} extra)", fontSet.size(), loaded);
+    }
+    
+    @Override
+    public byte[] generateSummaryPDF(MonthlySummary summary) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        writeSummaryPDF(summary, outputStream);
+        return outputStream.toByteArray();
+    }
+    
+    // Ditulis langsung ke output (mis. file cache) tanpa salinan byte[] perantara
+    @Override
+    public void writeSummaryPDF(MonthlySummary summary, OutputStream output) {
+        try {
+            String htmlContent = generateHTMLContent(summary);
+            ConverterProperties properties = new ConverterProperties(baseProperties)
+                    .setFontProvider(new FontProvider(fontSet, StandardFontFamilies.TIMES));
+            HtmlConverter.convertToPdf(htmlContent, output, properties);
+        } catch (Exception e) {
+            log.error("Error generating PDF: {}", e.getMessage(), e);
+            throw new RuntimeException("Gagal membuat PDF: " + e.getMessage());
+        }
+    }
+    
+    // Public untuk benchmark (perbandingan dengan HtmlConverter tanpa ConverterProperties)
+    public String generateHTMLContent(MonthlySummary summary) {
+        String recommendations = "";
+        if (summary.getAiRecomendation() != null && !summary.getAiRecomendation().isEmpty()) {
+            String[] recs = summary.getAiRecomendation().split("\n");
+            StringBuilder recBuilder = new StringBuilder();
+            for (String rec : recs) {
+                if (!rec.trim().isEmpty()) {
+                    recBuilder.append("<li>").append(rec.trim()).append("</li>");
+                }
+            }
+            recommendations = recBuilder.toString();
+        }
+        
+        String[] values = {
                 summary.getMonth(),
                 summary.getYear(),
                 summary.getCreatedAt() != null ? summary.getCreatedAt().toString() : "",
-                totalIncome,
-                totalExpense,
-                balance,
+                formatCurrency(summary.getTotalIncome()),
+                formatCurrency(summary.getTotalExpense()),
+                formatCurrency(summary.getBalance()),
                 summary.getAiSummary() != null ? summary.getAiSummary().replace("\n", "<br>") : "Tidak tersedia",
                 recommendations.isEmpty() ? "<li>Tidak ada rekomendasi</li>" : recommendations,
                 summary.getAiTrendAnalysis() != null ? summary.getAiTrendAnalysis().replace("\n", "<br>") : "Tidak tersedia"
-            );
+        };
+        
+        int length = TEMPLATE_LENGTH;
+        for (String value : values) {
+            length += value != null ? value.length() : 4;
+        }
+        StringBuilder html = new StringBuilder(length);
+        for (int i = 0; i < values.length; i++) {
+            html.append(TEMPLATE[i]).append(values[i]);
+        }
+        return html.append(TEMPLATE[values.length]).toString();
     }
     
-    private String formatCurrency(String amount) {
+    private String formatCurrency(BigDecimal amount) {
+        if (amount == null) {
+            return "Rp 0";
+        }
+        return CURRENCY_FORMAT.get().format(amount);
+    }
+    
+    private static int loadClasspathFonts(FontProvider fontProvider) {
+        int loaded = 0;
         try {
-            BigDecimal value = new BigDecimal(amount);
-            NumberFormat format = NumberFormat.getCurrencyInstance(Locale.forLanguageTag("id-ID"));
-            return format.format(value);
-        } catch (Exception e) {
-            return "Rp " + amount;
+            Resource[] resources = new PathMatchingResourcePatternResolver().getResources("classpath*:fonts/*.[ot]tf");
+            for (Resource resource : resources) {
+                try (InputStream input = resource.getInputStream()) {
+                    if (fontProvider.addFont(FontProgramFactory.createFont(input.readAllBytes()), PdfEncodings.IDENTITY_H)) {
+                        loaded++;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to load PDF fonts from classpath: {}", e.getMessage());
         }
+        return loaded;
     }
 }
-
@@ -0,0 +1,115 @@
+package com.budgettracker.service.impl;
+
+import com.budgettracker.dto.response.AIGenerateResponse;
+import com.budgettracker.entity.AISummaryCache;
+import com.budgettracker.repository.AISummaryCacheRepository;
+import com.budgettracker.service.SummaryCacheService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+
+// Cache dua level untuk hasil AI summary: Caffeine (per instance) lalu tabel ai_summary_cache (bersama)
+@Service
+@Slf4j
+public class SummaryCacheServiceImpl implements SummaryCacheService {
+    
+    private final AISummaryCacheRepository aiSummaryCacheRepository;
+    private final ObjectMapper objectMapper;
+    private final ObjectMapper canonicalMapper;
+    private final Cache<String, AIGenerateResponse> localCache;
+    private final long ttlDays;
+    
+    @Value("${ai.summary-cache.enabled:true}")
+    private boolean enabled;
+    
+    public SummaryCacheServiceImpl(
+            AISummaryCacheRepository aiSummaryCacheRepository,
+            ObjectMapper objectMapper,
+            @Value("${ai.summary-cache.max-size:1000}") long maxSize,
+            @Value("${ai.summary-cache.ttl-days:30}") long ttlDays) {
+        this.aiSummaryCacheRepository = aiSummaryCacheRepository;
+        this.objectMapper = objectMapper;
+        this.ttlDays = ttlDays;
+        this.canonicalMapper = objectMapper.copy()
+                .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofDays(ttlDays))
+                .build();
+    }
+    
+    @Override
+    public String fingerprint(Object requestBody) {
+        try {
+            byte[] canonical = canonicalMapper.writeValueAsBytes(requestBody);
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonical);
+            return HexFormat.of().formatHex(digest);
+        } catch (Exception e) {
+            throw new IllegalStateException("Gagal membuat fingerprint payload", e);
+        }
+    }
+    
+    @Override
+    public Optional<AIGenerateResponse> get(String payloadHash) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        
+        AIGenerateResponse cached = localCache.getIfPresent(payloadHash);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(ttlDays);
+        Optional<AIGenerateResponse> stored = aiSummaryCacheRepository.findById(payloadHash)
+                .filter(entry -> entry.getCreatedAt() == null || entry.getCreatedAt().isAfter(cutoff))
+                .map(entry -> read(entry.getResponseJson()));
+        stored.ifPresent(response -> localCache.put(payloadHash, response));
+        return stored;
+    }
+    
+    @Override
+    public void put(String payloadHash, String model, AIGenerateResponse response) {
+        if (!enabled) {
+            return;
+        }
+        
+        localCache.put(payloadHash, response);
+        try {
+            aiSummaryCacheRepository.save(AISummaryCache.builder()
+                    .payloadHash(payloadHash)
+                    .model(model)
+                    .responseJson(objectMapper.writeValueAsString(response))
+                    .build());
+        } catch (Exception e) {
+            // Cache bersifat best effort; kegagalan simpan tidak boleh menggagalkan generate
+            log.warn("Failed to store AI summary cache entry {}: {}", payloadHash, e.getMessage());
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${ai.summary-cache.cleanup-delay-ms:3600000}")
+    public void evictExpired() {
+        aiSummaryCacheRepository.deleteCreatedBefore(LocalDateTime.now().minusDays(ttlDays));
+    }
+    
+    private AIGenerateResponse read(String responseJson) {
+        try {
+            return objectMapper.readValue(responseJson, AIGenerateResponse.class);
+        } catch (Exception e) {
+            log.warn("Ignoring unreadable AI summary cache entry: {}", e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.budgettracker.service.impl;
+
+import com.budgettracker.dto.response.AIGenerateResponse;
+import com.budgettracker.dto.response.SummaryJobResponse;
+import com.budgettracker.entity.SummaryJob;
+import com.budgettracker.exception.BadRequestException;
+import com.budgettracker.exception.NotFoundException;
+import com.budgettracker.job.SummaryJobWorker;
+import com.budgettracker.repository.SummaryJobRepository;
+import com.budgettracker.service.MonthlySummaryService;
+import com.budgettracker.service.SummaryJobService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SummaryJobServiceImpl implements SummaryJobService {
+    
+    private final SummaryJobRepository summaryJobRepository;
+    private final MonthlySummaryService monthlySummaryService;
+    private final SummaryJobWorker summaryJobWorker;
+    private final ObjectMapper objectMapper;
+    
+    // Request path hanya cek limit harian dan insert satu baris; AI dipanggil oleh SummaryJobWorker
+    @Override
+    public SummaryJobResponse submit(Integer userId) {
+        String period = YearMonth.now().toString();
+        String dedupeKey = userId + ":" + period;
+        
+        // Job yang masih berjalan untuk user dan bulan yang sama dipakai ulang
+        SummaryJob inFlight = summaryJobRepository.findByDedupeKey(dedupeKey).orElse(null);
+        if (inFlight != null) {
+            return toResponse(inFlight);
+        }
+        
+        monthlySummaryService.validateGenerateLimit(userId);
+        
+        SummaryJob job = SummaryJob.builder()
+                .id(UUID.randomUUID().toString())
+                .userId(userId)
+                .period(period)
+                .status(SummaryJob.JobStatus.PENDING)
+                .dedupeKey(dedupeKey)
+                .build();
+        
+        try {
+            job = summaryJobRepository.saveAndFlush(job);
+        } catch (DataIntegrityViolationException e) {
+            // Request lain baru saja meng-enqueue job yang sama
+            return summaryJobRepository.findByDedupeKey(dedupeKey)
+                    .map(this::toResponse)
+                    .orElseThrow(() -> new BadRequestException("Summary sedang dibuat, silakan coba lagi"));
+        }
+        
+        summaryJobWorker.trigger();
+        return toResponse(job);
+    }
+    
+    @Override
+    public SummaryJobResponse getJob(Integer userId, String jobId) {
+        SummaryJob job = summaryJobRepository.findByIdAndUserId(jobId, userId)
+                .orElseThrow(() -> new NotFoundException("Job generate summary tidak ditemukan"));
+        return toResponse(job);
+    }
+    
+    private SummaryJobResponse toResponse(SummaryJob job) {
+        return SummaryJobResponse.builder()
+                .jobId(job.getId())
+                .status(job.getStatus().name())
+                .result(readResult(job.getResultJson()))
+                .error(job.getError())
+                .createdAt(job.getCreatedAt())
+                .finishedAt(job.getFinishedAt())
+                .build();
+    }
+    
+    private AIGenerateResponse readResult(String resultJson) {
+        if (resultJson == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(resultJson, AIGenerateResponse.class);
+        } catch (Exception e) {
+            log.error("Failed to read summary job result: {}", e.getMessage());
+            return null;
+        }
+    }
+}
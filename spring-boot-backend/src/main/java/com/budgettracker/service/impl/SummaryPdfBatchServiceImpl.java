@@ -0,0 +1,194 @@
+package com.budgettracker.service.impl;
+
+import com.budgettracker.entity.MonthlySummary;
+import com.budgettracker.exception.BadRequestException;
+import com.budgettracker.exception.NotFoundException;
+import com.budgettracker.repository.MonthlySummaryRepository;
+import com.budgettracker.service.SummaryPdfBatchService;
+import com.budgettracker.service.SummaryPdfCacheService;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.utils.PdfMerger;
+import com.itextpdf.kernel.utils.PdfMergerProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+// Export banyak summary sekaligus. PDF di-render lewat cache disk (paralel, maksimal `threads` per request),
+// lalu disalin berurutan ke response; tidak ada PDF yang disimpan utuh sebagai byte[] di memori.
+@Service
+@Slf4j
+public class SummaryPdfBatchServiceImpl implements SummaryPdfBatchService {
+
+    private final MonthlySummaryRepository monthlySummaryRepository;
+    private final SummaryPdfCacheService summaryPdfCacheService;
+    private final int parallelism;
+    private final int maxSummaries;
+    private final ExecutorService renderExecutor;
+
+    public SummaryPdfBatchServiceImpl(
+            MonthlySummaryRepository monthlySummaryRepository,
+            SummaryPdfCacheService summaryPdfCacheService,
+            @Value("${pdf.batch.threads:4}") int threads,
+            @Value("${pdf.batch.max-summaries:24}") int maxSummaries) {
+        this.monthlySummaryRepository = monthlySummaryRepository;
+        this.summaryPdfCacheService = summaryPdfCacheService;
+        this.parallelism = threads;
+        this.maxSummaries = maxSummaries;
+        // Antrian penuh: thread request ikut me-render sendiri, jadi beban tetap tertahan
+        this.renderExecutor = new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads * 8),
+                Thread.ofPlatform().name("pdf-batch-", 0).daemon().factory(),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<MonthlySummary> findOwned(Integer userId, List<Integer> ids, String year) {
+        List<MonthlySummary> summaries;
+        if (ids != null && !ids.isEmpty()) {
+            LinkedHashSet<Integer> uniqueIds = new LinkedHashSet<>(ids);
+            if (uniqueIds.size() > maxSummaries) {
+                throw new BadRequestException("Maksimal " + maxSummaries + " summary per export");
+            }
+            // Satu query untuk semua id; summary milik user lain dianggap tidak ada
+            Map<Integer, MonthlySummary> byId = monthlySummaryRepository.findAllByUserIdAndIdIn(userId, uniqueIds)
+                    .stream()
+                    .collect(Collectors.toMap(MonthlySummary::getId, Function.identity()));
+            summaries = new ArrayList<>(uniqueIds.size());
+            for (Integer id : uniqueIds) {
+                MonthlySummary summary = byId.get(id);
+                if (summary == null) {
+                    throw new NotFoundException("Summary Bulanan dengan id " + id + " tidak ditemukan!");
+                }
+                summaries.add(summary);
+            }
+        } else if (year != null && !year.isBlank()) {
+            summaries = monthlySummaryRepository.findAllByUserIdAndYear(userId, year.trim());
+            if (summaries.isEmpty()) {
+                throw new NotFoundException("Tidak ada summary untuk tahun " + year.trim());
+            }
+            if (summaries.size() > maxSummaries) {
+                throw new BadRequestException("Maksimal " + maxSummaries + " summary per export");
+            }
+        } else {
+            throw new BadRequestException("Parameter ids atau year wajib diisi");
+        }
+        return summaries;
+    }
+
+    @Override
+    public void write(List<MonthlySummary> summaries, Format format, OutputStream output) throws IOException {
+        long start = System.nanoTime();
+        if (format == Format.ZIP) {
+            writeZip(summaries, output);
+        } else {
+            writeMerged(summaries, output);
+        }
+        log.info("Exported {} summary PDFs as {} in {} ms",
+                summaries.size(), format, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void writeZip(List<MonthlySummary> summaries, OutputStream output) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(output);
+        // PDF sudah terkompresi, kompresi ulang tidak banyak mengecilkan ukuran
+        zip.setLevel(Deflater.BEST_SPEED);
+        forEachRendered(summaries, (summary, path) -> {
+            ZipEntry entry = new ZipEntry(fileNameOf(summary));
+            entry.setTime(summaryPdfCacheService.lastModifiedOf(summary));
+            zip.putNextEntry(entry);
+            Files.copy(path, zip);
+            zip.closeEntry();
+        });
+        zip.finish();
+    }
+
+    private void writeMerged(List<MonthlySummary> summaries, OutputStream output) throws IOException {
+        PdfWriter writer = new PdfWriter(output);
+        // Output stream milik servlet container, jangan ikut ditutup
+        writer.setCloseStream(false);
+        PdfDocument merged = new PdfDocument(writer);
+        PdfMerger merger = new PdfMerger(merged, new PdfMergerProperties().setMergeTags(false).setMergeOutlines(false));
+        forEachRendered(summaries, (summary, path) -> {
+            try (PdfDocument source = new PdfDocument(new PdfReader(path.toFile()))) {
+                int firstPage = merged.getNumberOfPages() + 1;
+                merger.merge(source, 1, source.getNumberOfPages());
+                // Halaman yang sudah disalin langsung ditulis ke output supaya memori tidak tumbuh per bulan
+                for (int page = firstPage; page <= merged.getNumberOfPages(); page++) {
+                    merged.getPage(page).flush();
+                }
+            }
+        });
+        merged.close();
+    }
+
+    // Render berjalan paling banyak `parallelism` summary di depan summary yang sedang ditulis
+    private void forEachRendered(List<MonthlySummary> summaries, RenderedPdfConsumer consumer) throws IOException {
+        List<Future<Path>> renders = new ArrayList<>(summaries.size());
+        try {
+            for (int i = 0; i < summaries.size(); i++) {
+                while (renders.size() < summaries.size() && renders.size() < i + parallelism) {
+                    MonthlySummary next = summaries.get(renders.size());
+                    renders.add(renderExecutor.submit(() -> summaryPdfCacheService.getOrRender(next)));
+                }
+                consumer.accept(summaries.get(i), await(renders.get(i)));
+            }
+        } finally {
+            // Client putus atau render gagal: render yang belum jalan tidak perlu dikerjakan
+            renders.forEach(render -> render.cancel(false));
+        }
+    }
+
+    private static Path await(Future<Path> render) throws IOException {
+        try {
+            return render.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Export PDF dibatalkan");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IOException("Gagal membuat PDF: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    private static String fileNameOf(MonthlySummary summary) {
+        return String.format("Financial_Summary_%s_%s_%d.pdf", summary.getMonth(), summary.getYear(), summary.getId());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        renderExecutor.shutdownNow();
+    }
+
+    @FunctionalInterface
+    private interface RenderedPdfConsumer {
+        void accept(MonthlySummary summary, Path pdf) throws IOException;
+    }
+}
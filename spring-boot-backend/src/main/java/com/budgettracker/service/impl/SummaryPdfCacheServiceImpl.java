@@ -0,0 +1,233 @@
+package com.budgettracker.service.impl;
+
+import com.budgettracker.entity.MonthlySummary;
+import com.budgettracker.repository.MonthlySummaryRepository;
+import com.budgettracker.service.PDFExportService;
+import com.budgettracker.service.SummaryPdfCacheService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// PDF summary disimpan di disk dengan key id + updatedAt. Summary praktis tidak berubah setelah dibuat, jadi
+// download berikutnya cukup mengirim file (atau 304). Render pertama dilakukan di background setelah commit.
+@Service
+@Slf4j
+public class SummaryPdfCacheServiceImpl implements SummaryPdfCacheService {
+
+    // Naikkan jika template PDF berubah supaya file lama tidak dipakai lagi
+    private static final int RENDER_VERSION = 2;
+
+    private final PDFExportService pdfExportService;
+    private final MonthlySummaryRepository monthlySummaryRepository;
+    private final MeterRegistry meterRegistry;
+    private final Path directory;
+    private final Duration ttl;
+    private final ExecutorService prerenderExecutor;
+
+    // Request bersamaan untuk PDF yang sama menunggu satu render saja
+    private final Map<String, CompletableFuture<Path>> inFlight = new ConcurrentHashMap<>();
+
+    public SummaryPdfCacheServiceImpl(
+            PDFExportService pdfExportService,
+            MonthlySummaryRepository monthlySummaryRepository,
+            MeterRegistry meterRegistry,
+            @Value("${pdf.cache.dir:${java.io.tmpdir}/budget-tracker/pdf-cache}") String directory,
+            @Value("${pdf.cache.ttl-days:30}") long ttlDays,
+            @Value("${pdf.cache.prerender-threads:2}") int prerenderThreads,
+            @Value("${pdf.cache.prerender-queue:100}") int prerenderQueue) {
+        this.pdfExportService = pdfExportService;
+        this.monthlySummaryRepository = monthlySummaryRepository;
+        this.meterRegistry = meterRegistry;
+        this.directory = Path.of(directory).toAbsolutePath();
+        this.ttl = Duration.ofDays(ttlDays);
+        // Antrian penuh: pre-render dilewati, PDF tetap dibuat saat pertama di-download
+        this.prerenderExecutor = new ThreadPoolExecutor(
+                prerenderThreads, prerenderThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(prerenderQueue),
+                Thread.ofPlatform().name("pdf-prerender-", 0).daemon().factory(),
+                new ThreadPoolExecutor.DiscardPolicy());
+        try {
+            Files.createDirectories(this.directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Gagal membuat direktori cache PDF " + this.directory, e);
+        }
+    }
+
+    @Override
+    public String etagOf(MonthlySummary summary) {
+        return "\"summary-" + summary.getId() + "-" + versionOf(summary) + "-v" + RENDER_VERSION + "\"";
+    }
+
+    // Header Last-Modified hanya sampai detik; pembeda versi yang sebenarnya ada di ETag
+    @Override
+    public long lastModifiedOf(MonthlySummary summary) {
+        Instant timestamp = timestampOf(summary);
+        return timestamp != null ? timestamp.truncatedTo(ChronoUnit.SECONDS).toEpochMilli() : 0L;
+    }
+
+    @Override
+    public Path getOrRender(MonthlySummary summary) {
+        String fileName = fileNameOf(summary);
+        Path path = directory.resolve(fileName);
+        if (Files.exists(path)) {
+            meterRegistry.counter("pdf.cache", "result", "hit").increment();
+            return path;
+        }
+        meterRegistry.counter("pdf.cache", "result", "miss").increment();
+
+        CompletableFuture<Path> render = new CompletableFuture<>();
+        CompletableFuture<Path> existing = inFlight.putIfAbsent(fileName, render);
+        if (existing != null) {
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+
+        try {
+            Path rendered = render(summary, path);
+            render.complete(rendered);
+            return rendered;
+        } catch (RuntimeException e) {
+            render.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(fileName);
+        }
+    }
+
+    // Dijalankan setelah commit supaya thread background membaca summary yang sudah tersimpan
+    @Override
+    public void prerender(Integer summaryId) {
+        Runnable submit = () -> prerenderExecutor.execute(() -> {
+            try {
+                monthlySummaryRepository.findById(summaryId).ifPresent(this::getOrRender);
+            } catch (Exception e) {
+                log.warn("Failed to pre-render PDF for summary {}: {}", summaryId, e.getMessage());
+            }
+        });
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit.run();
+                }
+            });
+        } else {
+            submit.run();
+        }
+    }
+
+    @Override
+    public void evict(Integer summaryId) {
+        deleteVersions(summaryId, null);
+    }
+
+    // Membuang file yang lama tidak di-download dan file sementara sisa render yang gagal
+    @Scheduled(fixedDelayString = "${pdf.cache.cleanup-delay-ms:3600000}")
+    public void cleanup() {
+        long now = System.currentTimeMillis();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                long age = now - Files.getLastModifiedTime(file).toMillis();
+                boolean temporary = file.getFileName().toString().endsWith(".tmp");
+                if (age > ttl.toMillis() || (temporary && age > TimeUnit.HOURS.toMillis(1))) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("PDF cache cleanup failed: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        prerenderExecutor.shutdownNow();
+    }
+
+    // Ditulis ke file sementara lalu di-rename, jadi pembaca tidak pernah melihat PDF setengah jadi
+    private Path render(MonthlySummary summary, Path path) {
+        long start = System.nanoTime();
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(directory, "summary-" + summary.getId() + "-", ".tmp");
+            try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(temp))) {
+                pdfExportService.writeSummaryPDF(summary, output);
+            }
+            Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            deleteVersions(summary.getId(), path);
+            log.debug("Rendered PDF for summary {} in {} ms", summary.getId(), (System.nanoTime() - start) / 1_000_000);
+            return path;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Gagal menyimpan PDF ke cache", e);
+        } finally {
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException ignored) {
+                    // Dibersihkan oleh cleanup()
+                }
+            }
+        }
+    }
+
+    private void deleteVersions(Integer summaryId, Path keep) {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "summary-" + summaryId + "-*.pdf")) {
+            for (Path file : files) {
+                if (!file.equals(keep)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to delete cached PDF for summary {}: {}", summaryId, e.getMessage());
+        }
+    }
+
+    private String fileNameOf(MonthlySummary summary) {
+        return "summary-" + summary.getId() + "-" + versionOf(summary) + "-v" + RENDER_VERSION + ".pdf";
+    }
+
+    // Epoch mikrodetik updatedAt (atau createdAt), presisi sama dengan kolom DATETIME(6), supaya dua update
+    // dalam detik yang sama tetap menghasilkan file dan ETag yang berbeda
+    private static long versionOf(MonthlySummary summary) {
+        Instant timestamp = timestampOf(summary);
+        if (timestamp == null) {
+            return 0L;
+        }
+        return ChronoUnit.MICROS.between(Instant.EPOCH, timestamp);
+    }
+
+    private static Instant timestampOf(MonthlySummary summary) {
+        LocalDateTime timestamp = summary.getUpdatedAt() != null ? summary.getUpdatedAt() : summary.getCreatedAt();
+        return timestamp != null ? timestamp.atZone(ZoneId.systemDefault()).toInstant() : null;
+    }
+}
@@ -0,0 +1,143 @@
+package com.budgettracker.service.impl;
+
+import com.budgettracker.entity.Category;
+import com.budgettracker.entity.Transaction;
+import com.budgettracker.repository.TransactionRepository;
+import com.budgettracker.repository.projection.TransactionExportRow;
+import com.budgettracker.service.CategoryLookupService;
+import com.budgettracker.service.TransactionExportService;
+import com.budgettracker.util.MoneyUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
+
+// Menulis transaksi langsung dari cursor database ke output, baris per baris. Memori tetap konstan
+// berapa pun jumlah transaksinya: tidak ada List<Transaction> dan tidak ada entity yang di-manage.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionExportServiceImpl implements TransactionExportService {
+
+    // Kolom sama dengan yang dibaca import, jadi hasil export bisa diimport ulang
+    private static final String CSV_HEADER = "id,date,type,amount,categoryId,category,note";
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private final TransactionRepository transactionRepository;
+    private final CategoryLookupService categoryLookupService;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @Transactional(readOnly = true)
+    public long export(Integer userId, LocalDate startDate, LocalDate endDate, Transaction.TransactionType type,
+                       Format format, OutputStream output) throws IOException {
+        long start = System.nanoTime();
+
+        // Dimuat sebelum stream dibuka: koneksi yang sedang streaming tidak bisa menjalankan query lain
+        Map<Integer, String> categoryNames = new HashMap<>();
+        for (Category category : categoryLookupService.findAll()) {
+            categoryNames.put(category.getId(), category.getName());
+        }
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+        long count = 0;
+        try (Stream<TransactionExportRow> rows = transactionRepository.streamForExport(userId, startDate, endDate, type)) {
+            if (format == Format.CSV) {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+            }
+            Iterator<TransactionExportRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                TransactionExportRow row = iterator.next();
+                String categoryName = categoryNames.get(row.getCategoryId());
+                if (format == Format.CSV) {
+                    writeCsv(writer, row, categoryName);
+                } else {
+                    writeJson(writer, row, categoryName);
+                }
+                count++;
+            }
+        }
+        writer.flush();
+
+        log.info("Exported {} transactions for user {} as {} in {} ms",
+                count, userId, format, (System.nanoTime() - start) / 1_000_000);
+        return count;
+    }
+
+    private void writeCsv(Writer writer, TransactionExportRow row, String categoryName) throws IOException {
+        writer.write(String.valueOf(row.getId()));
+        writer.write(',');
+        writer.write(row.getDate().toString());
+        writer.write(',');
+        writer.write(typeOf(row));
+        writer.write(',');
+        writer.write(amountOf(row));
+        writer.write(',');
+        writer.write(String.valueOf(row.getCategoryId()));
+        writer.write(',');
+        writer.write(csvField(categoryName));
+        writer.write(',');
+        writer.write(csvField(row.getNote()));
+        writer.write('\n');
+    }
+
+    private void writeJson(Writer writer, TransactionExportRow row, String categoryName) throws IOException {
+        ExportLine line = new ExportLine(
+                row.getId(),
+                row.getDate(),
+                typeOf(row),
+                amountOf(row),
+                row.getCategoryId(),
+                categoryName,
+                row.getNote());
+        // writeValue(writer, ...) akan menutup writer, jadi ditulis sebagai string per baris
+        writer.write(objectMapper.writeValueAsString(line));
+        writer.write('\n');
+    }
+
+    // Baris lama yang belum di-backfill masih menyimpan nominal di kolom VARCHAR
+    private static String amountOf(TransactionExportRow row) {
+        BigDecimal amount = row.getAmount() != null ? row.getAmount() : MoneyUtil.parse(row.getLegacyAmount());
+        return MoneyUtil.toPlainString(amount);
+    }
+
+    private static String typeOf(TransactionExportRow row) {
+        return row.getType().name().toLowerCase(Locale.ROOT);
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private record ExportLine(
+            Integer id,
+            LocalDate date,
+            String type,
+            String amount,
+            Integer categoryId,
+            String category,
+            String note) {
+    }
+}
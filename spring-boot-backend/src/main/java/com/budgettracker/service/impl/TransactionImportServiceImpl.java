@@ -0,0 +1,459 @@
+package com.budgettracker.service.impl;
+
+import com.budgettracker.dto.request.CreateTransactionRequest;
+import com.budgettracker.dto.response.TransactionImportResponse;
+import com.budgettracker.entity.Category;
+import com.budgettracker.entity.MonthlyBalance;
+import com.budgettracker.entity.Transaction;
+import com.budgettracker.entity.User;
+import com.budgettracker.exception.BadRequestException;
+import com.budgettracker.exception.NotFoundException;
+import com.budgettracker.repository.UserRepository;
+import com.budgettracker.service.CategoryLookupService;
+import com.budgettracker.service.FinancialGoalService;
+import com.budgettracker.service.LedgerService;
+import com.budgettracker.service.MonthlyBalanceService;
+import com.budgettracker.service.TransactionImportService;
+import com.budgettracker.service.UserWriteLockService;
+import com.budgettracker.util.CsvReader;
+import com.budgettracker.util.MoneyUtil;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Import transaksi massal dari CSV atau array JSON. Semua baris divalidasi dalam satu pass terhadap total
+// bulanan dari ledger, baris yang valid di-insert lewat JDBC batch (id IDENTITY membuat batching Hibernate
+// mati), lalu ledger dan financial goal di-update sekali untuk seluruh import. File di-parse dan divalidasi di luar
+// transaksi, jadi upload yang lambat tidak menahan koneksi database; hanya penyimpanan yang berjalan dalam transaksi.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionImportServiceImpl implements TransactionImportService {
+
+    private static final String INSERT_SQL = "INSERT INTO transactions " +
+            "(type, amount, amount_value, date, note, user_id, category_id, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Format tanggal export spreadsheet/bank lokal, selain ISO yyyy-MM-dd
+    private static final DateTimeFormatter LOCAL_DATE_FORMAT = DateTimeFormatter.ofPattern("d/M/uuuu");
+    private static final int HEADER_PEEK_LIMIT = 64 * 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserRepository userRepository;
+    private final LedgerService ledgerService;
+    private final MonthlyBalanceService monthlyBalanceService;
+    private final UserWriteLockService userWriteLockService;
+    private final CategoryLookupService categoryLookupService;
+    private final FinancialGoalService financialGoalService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    @Value("${transaction.import.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${transaction.import.max-rows:100000}")
+    private int maxRows;
+
+    @Value("${transaction.import.max-errors:500}")
+    private int maxErrors;
+
+    @Override
+    public TransactionImportResponse importCsv(Integer userId, InputStream input) {
+        ImportBatch batch = new ImportBatch();
+
+        try {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+            reader.mark(HEADER_PEEK_LIMIT);
+            String headerLine = reader.readLine();
+            if (headerLine == null) {
+                throw new BadRequestException("File CSV kosong");
+            }
+            reader.reset();
+
+            CsvReader csv = new CsvReader(reader, CsvReader.detectDelimiter(headerLine));
+            Map<String, Integer> columns = columnsOf(csv.readRecord());
+            Map<String, Integer> categoryIdsByName = categoryIdsByName();
+
+            int row = 0;
+            List<String> record;
+            while ((record = csv.readRecord()) != null) {
+                if (isBlank(record)) {
+                    continue;
+                }
+                row++;
+                checkRowLimit(row);
+                try {
+                    batch.add(row, toRequest(record, columns, categoryIdsByName));
+                } catch (IllegalArgumentException e) {
+                    batch.reject(row, e.getMessage());
+                }
+            }
+            batch.totalRows = row;
+        } catch (IOException e) {
+            throw new BadRequestException("File CSV tidak valid: " + e.getMessage());
+        }
+
+        return saveAndUpdateGoals(userId, batch);
+    }
+
+    @Override
+    public TransactionImportResponse importJson(Integer userId, InputStream input) {
+        ImportBatch batch = new ImportBatch();
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(input)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new BadRequestException("Body harus berupa array transaksi");
+            }
+
+            int row = 0;
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    throw new BadRequestException("Array JSON tidak lengkap");
+                }
+                row++;
+                checkRowLimit(row);
+                if (token != JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                    batch.reject(row, "Baris harus berupa object transaksi");
+                    continue;
+                }
+
+                // Dibaca sebagai tree dulu supaya error tipe data di satu baris tidak merusak posisi parser
+                JsonNode node = objectMapper.readTree(parser);
+                try {
+                    batch.add(row, objectMapper.treeToValue(node, CreateTransactionRequest.class));
+                } catch (JsonProcessingException e) {
+                    batch.reject(row, "Format data tidak valid: " + e.getOriginalMessage());
+                }
+            }
+            batch.totalRows = row;
+        } catch (IOException e) {
+            throw new BadRequestException("JSON tidak valid: " + e.getMessage());
+        }
+
+        return saveAndUpdateGoals(userId, batch);
+    }
+
+    private TransactionImportResponse saveAndUpdateGoals(Integer userId, ImportBatch batch) {
+        // Lock diambil setelah file selesai di-parse, supaya upload lambat tidak menahan transaksi lain milik user ini.
+        // Belum ada query sebelum lock: dengan open-in-view, koneksi yang sudah dipakai ditahan sampai request selesai
+        TransactionImportResponse response = userWriteLockService.executeLocked(userId, () -> save(userId, batch));
+
+        // Sekali untuk seluruh import, bukan per baris income. Dijalankan setelah commit dalam transaksinya
+        // sendiri, jadi kegagalan di sini tidak membuat import yang sudah tersimpan ikut di-rollback
+        if (batch.importedIncome.signum() > 0) {
+            try {
+                financialGoalService.autoUpdateFromIncome(userId, batch.importedIncome);
+            } catch (Exception e) {
+                // Financial goal update is optional
+                log.warn("Failed to update financial goals after import for user {}: {}", userId, e.getMessage());
+            }
+        }
+        return response;
+    }
+
+    private TransactionImportResponse save(Integer userId, ImportBatch batch) {
+        long start = System.nanoTime();
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new NotFoundException("User tidak ditemukan"));
+        List<ImportRow> accepted = applyExpenseLimit(user.getId(), batch);
+
+        if (!accepted.isEmpty()) {
+            insert(user.getId(), accepted);
+
+            List<Transaction> transactions = new ArrayList<>(accepted.size());
+            BigDecimal totalIncome = BigDecimal.ZERO;
+            for (ImportRow row : accepted) {
+                transactions.add(Transaction.builder()
+                        .type(row.type())
+                        .amount(row.amount())
+                        .date(row.date())
+                        .user(user)
+                        .category(Category.builder().id(row.categoryId()).build())
+                        .build());
+                if (row.type() == Transaction.TransactionType.INCOME) {
+                    totalIncome = totalIncome.add(row.amount());
+                }
+            }
+            // Baris sudah disaring di applyExpenseLimit; di sini invariant dicek ulang secara atomik
+            monthlyBalanceService.recordAll(transactions);
+            ledgerService.recordAll(transactions);
+            batch.importedIncome = totalIncome;
+        }
+
+        log.info("Imported {} of {} transactions for user {} in {} ms",
+                accepted.size(), batch.totalRows, user.getId(), (System.nanoTime() - start) / 1_000_000);
+
+        batch.errors.sort(Comparator.comparing(TransactionImportResponse.RowError::getRow));
+        List<TransactionImportResponse.RowError> errors = batch.errors.size() > maxErrors
+                ? new ArrayList<>(batch.errors.subList(0, maxErrors))
+                : batch.errors;
+        return TransactionImportResponse.builder()
+                .totalRows(batch.totalRows)
+                .imported(accepted.size())
+                .failed(batch.errors.size())
+                .errors(errors)
+                .errorsTruncated(batch.errors.size() > maxErrors)
+                .build();
+    }
+
+    // Menyaring baris expense yang melebihi income bulannya (saldo dari monthly_balances), supaya penolakan
+    // dilaporkan per baris: income dari file dihitung lebih dulu, lalu expense diperiksa berurutan sesuai baris
+    private List<ImportRow> applyExpenseLimit(Integer userId, ImportBatch batch) {
+        Set<String> periods = batch.rows.stream()
+                .map(row -> YearMonth.from(row.date()).toString())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (periods.isEmpty()) {
+            return List.of();
+        }
+
+        Map<String, MonthTotals> totals = new HashMap<>();
+        for (MonthlyBalance balance : monthlyBalanceService.findByPeriods(userId, periods).values()) {
+            MonthTotals month = totals.computeIfAbsent(balance.getPeriod(), p -> new MonthTotals());
+            month.add(Transaction.TransactionType.INCOME, balance.getIncome());
+            month.add(Transaction.TransactionType.EXPENSE, balance.getExpense());
+        }
+        for (ImportRow row : batch.rows) {
+            if (row.type() == Transaction.TransactionType.INCOME) {
+                totals.computeIfAbsent(row.period(), p -> new MonthTotals()).add(row.type(), row.amount());
+            }
+        }
+
+        List<ImportRow> accepted = new ArrayList<>(batch.rows.size());
+        for (ImportRow row : batch.rows) {
+            if (row.type() == Transaction.TransactionType.EXPENSE) {
+                MonthTotals month = totals.computeIfAbsent(row.period(), p -> new MonthTotals());
+                if (month.income.compareTo(month.expense.add(row.amount())) < 0) {
+                    batch.reject(row.row(), "Income bulan " + row.period() + " tidak mencukupi");
+                    continue;
+                }
+                month.add(row.type(), row.amount());
+            }
+            accepted.add(row);
+        }
+        return accepted;
+    }
+
+    // Tanpa rewriteBatchedStatements=true, driver MySQL tetap mengirim satu statement per baris
+    private void insert(Integer userId, List<ImportRow> rows) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, batchSize, (ps, row) -> {
+            ps.setString(1, row.type().name());
+            ps.setString(2, MoneyUtil.toPlainString(row.amount()));
+            ps.setBigDecimal(3, row.amount());
+            ps.setDate(4, Date.valueOf(row.date()));
+            ps.setString(5, row.note());
+            ps.setInt(6, userId);
+            ps.setInt(7, row.categoryId());
+            ps.setTimestamp(8, now);
+            ps.setTimestamp(9, now);
+        });
+    }
+
+    private void checkRowLimit(int row) {
+        if (row > maxRows) {
+            throw new BadRequestException("Maksimal " + maxRows + " transaksi per import");
+        }
+    }
+
+    private Map<String, Integer> columnsOf(List<String> header) {
+        if (header == null) {
+            throw new BadRequestException("File CSV kosong");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(normalizeColumn(header.get(i)), i);
+        }
+        if (!columns.containsKey("type") || !columns.containsKey("amount") || !columns.containsKey("date")
+                || (!columns.containsKey("categoryid") && !columns.containsKey("category"))) {
+            throw new BadRequestException("Header CSV wajib berisi kolom type, amount, date, dan categoryId atau category");
+        }
+        return columns;
+    }
+
+    // "Category ID", "category_id" dan "categoryId" dianggap sama; BOM UTF-8 dari Excel dibuang
+    private static String normalizeColumn(String name) {
+        return name.replace("\uFEFF", "")
+                .replaceAll("[\\s_]", "")
+                .toLowerCase(Locale.ROOT);
+    }
+
+    private Map<String, Integer> categoryIdsByName() {
+        Map<String, Integer> ids = new HashMap<>();
+        for (Category category : categoryLookupService.findAll()) {
+            ids.putIfAbsent(category.getName().trim().toLowerCase(Locale.ROOT), category.getId());
+        }
+        return ids;
+    }
+
+    private CreateTransactionRequest toRequest(List<String> record, Map<String, Integer> columns,
+                                               Map<String, Integer> categoryIdsByName) {
+        CreateTransactionRequest request = new CreateTransactionRequest();
+        request.setType(valueOf(record, columns, "type"));
+        request.setNote(valueOf(record, columns, "note"));
+
+        String amount = valueOf(record, columns, "amount");
+        if (amount != null) {
+            try {
+                request.setAmount(MoneyUtil.parse(amount));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Format jumlah tidak valid");
+            }
+        }
+
+        String date = valueOf(record, columns, "date");
+        if (date != null) {
+            request.setDate(parseDate(date));
+        }
+
+        String categoryId = valueOf(record, columns, "categoryid");
+        if (categoryId != null) {
+            try {
+                request.setCategoryId(Integer.valueOf(categoryId));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Category ID tidak valid");
+            }
+        } else {
+            String categoryName = valueOf(record, columns, "category");
+            if (categoryName != null) {
+                Integer id = categoryIdsByName.get(categoryName.toLowerCase(Locale.ROOT));
+                if (id == null) {
+                    throw new IllegalArgumentException("Category '" + categoryName + "' tidak ditemukan");
+                }
+                request.setCategoryId(id);
+            }
+        }
+        return request;
+    }
+
+    private static LocalDate parseDate(String value) {
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            try {
+                return LocalDate.parse(value, LOCAL_DATE_FORMAT);
+            } catch (DateTimeParseException ignored) {
+                throw new IllegalArgumentException("Format tanggal tidak valid (yyyy-MM-dd atau dd/MM/yyyy)");
+            }
+        }
+    }
+
+    private static String valueOf(List<String> record, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static boolean isBlank(List<String> record) {
+        return record.stream().allMatch(String::isBlank);
+    }
+
+    private class ImportBatch {
+        private final List<ImportRow> rows = new ArrayList<>();
+        private final List<TransactionImportResponse.RowError> errors = new ArrayList<>();
+        private int totalRows;
+        private BigDecimal importedIncome = BigDecimal.ZERO;
+
+        private void add(int row, CreateTransactionRequest request) {
+            String error = validate(request);
+            if (error != null) {
+                errors.add(new TransactionImportResponse.RowError(row, error));
+                return;
+            }
+            rows.add(new ImportRow(
+                    row,
+                    request.getTransactionType(),
+                    request.getAmount(),
+                    request.getDate(),
+                    request.getNote(),
+                    request.getCategoryId()));
+        }
+
+        private void reject(int row, String message) {
+            errors.add(new TransactionImportResponse.RowError(row, message));
+        }
+    }
+
+    private String validate(CreateTransactionRequest request) {
+        Set<ConstraintViolation<CreateTransactionRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        // getTransactionType() menganggap selain "income" sebagai expense; untuk import harus eksplisit
+        if (!"income".equalsIgnoreCase(request.getType()) && !"expense".equalsIgnoreCase(request.getType())) {
+            return "Tipe transaksi harus income atau expense";
+        }
+        if (request.getAmount().signum() <= 0) {
+            return "Jumlah harus lebih dari 0";
+        }
+        if (categoryLookupService.findById(request.getCategoryId()).isEmpty()) {
+            return "Category tidak ditemukan";
+        }
+        return null;
+    }
+
+    private record ImportRow(
+            int row,
+            Transaction.TransactionType type,
+            BigDecimal amount,
+            LocalDate date,
+            String note,
+            Integer categoryId) {
+
+        String period() {
+            return YearMonth.from(date).toString();
+        }
+    }
+
+    private static class MonthTotals {
+        private BigDecimal income = BigDecimal.ZERO;
+        private BigDecimal expense = BigDecimal.ZERO;
+
+        private void add(Transaction.TransactionType type, BigDecimal amount) {
+            if (type == Transaction.TransactionType.INCOME) {
+                income = income.add(amount);
+            } else {
+                expense = expense.add(amount);
+            }
+        }
+    }
+}
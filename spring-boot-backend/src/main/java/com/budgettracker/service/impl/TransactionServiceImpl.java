@@ -2,6 +2,7 @@ package com.budgettracker.service.impl;
 
 import com.budgettracker.dto.request.CreateTransactionRequest;
 import com.budgettracker.dto.request.UpdateTransactionRequest;
+import com.budgettracker.config.TransactionSearchIndex;
 import com.budgettracker.dto.response.*;
 import com.budgettracker.entity.Category;
 import com.budgettracker.entity.Transaction;
@@ -10,24 +11,34 @@ import com.budgettracker.exception.BadRequestException;
 import com.budgettracker.exception.ForbiddenException;
 import com.budgettracker.exception.NotFoundException;
 import com.budgettracker.mapper.TransactionMapper;
-import com.budgettracker.repository.CategoryRepository;
+import com.budgettracker.repository.LedgerAggregateRepository;
 import com.budgettracker.repository.TransactionRepository;
 import com.budgettracker.repository.UserRepository;
+import com.budgettracker.repository.projection.DailyTypeTotal;
+import com.budgettracker.repository.projection.SearchHit;
+import com.budgettracker.repository.projection.TypeTotal;
+import com.budgettracker.service.CategoryLookupService;
 import com.budgettracker.service.FinancialGoalService;
+import com.budgettracker.service.LedgerService;
+import com.budgettracker.service.MonthlyBalanceService;
 import com.budgettracker.service.TransactionService;
+import com.budgettracker.service.UserWriteLockService;
+import com.budgettracker.util.CursorUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -35,10 +46,15 @@ import java.util.stream.Collectors;
 public class TransactionServiceImpl implements TransactionService {
     
     private final TransactionRepository transactionRepository;
+    private final LedgerAggregateRepository ledgerAggregateRepository;
+    private final LedgerService ledgerService;
+    private final MonthlyBalanceService monthlyBalanceService;
+    private final UserWriteLockService userWriteLockService;
     private final UserRepository userRepository;
-    private final CategoryRepository categoryRepository;
+    private final CategoryLookupService categoryLookupService;
     private final TransactionMapper transactionMapper;
     private final FinancialGoalService financialGoalService;
+    private final TransactionSearchIndex transactionSearchIndex;
     
     @Override
     public PagedResponse<TransactionResponse> getAllByUser(
@@ -47,23 +63,25 @@ public class TransactionServiceImpl implements TransactionService {
         Pageable pageable = PageRequest.of(page - 1, limit, Sort.by("date").descending());
         Page<Transaction> transactionPage;
         
-        // Parse type filter
-        Transaction.TransactionType transactionType = null;
-        if (type != null && !type.trim().isEmpty()) {
-            try {
-                transactionType = Transaction.TransactionType.valueOf(type.toUpperCase());
-            } catch (IllegalArgumentException e) {
-                throw new BadRequestException("Type harus 'income' atau 'expense'");
+        Transaction.TransactionType transactionType = parseTypeFilter(type);
+        
+        if (search != null && !search.trim().isEmpty() && transactionSearchIndex.isAvailable()) {
+            String booleanQuery = transactionSearchIndex.toBooleanQuery(search);
+            if (booleanQuery != null) {
+                return searchByFullText(userId, page, limit, search.trim(), booleanQuery, transactionType);
             }
         }
         
         // Build query based on search and type filters
         if (search != null && !search.trim().isEmpty() && transactionType != null) {
             // Both search and type filter
-            transactionPage = transactionRepository.findByUserIdWithSearchAndType(userId, search, transactionType, pageable);
+            List<Integer> categoryIds = categoryLookupService.findIdsByNameContaining(search);
+            transactionPage = transactionRepository.findByUserIdWithSearchAndType(
+                    userId, search, categoryIds, transactionType, pageable);
         } else if (search != null && !search.trim().isEmpty()) {
             // Only search filter
-            transactionPage = transactionRepository.findByUserIdWithSearch(userId, search, pageable);
+            List<Integer> categoryIds = categoryLookupService.findIdsByNameContaining(search);
+            transactionPage = transactionRepository.findByUserIdWithSearch(userId, search, categoryIds, pageable);
         } else if (transactionType != null) {
             // Only type filter
             transactionPage = transactionRepository.findByUserIdAndType(userId, transactionType, pageable);
@@ -76,11 +94,120 @@ public class TransactionServiceImpl implements TransactionService {
                 .map(transactionMapper::toResponse)
                 .collect(Collectors.toList());
         
+        return toPagedResponse(data, transactionPage.getTotalElements(), page, limit);
+    }
+    
+    @Override
+    public PagedResponse<TransactionResponse> getAllByUserWithCursor(
+            Integer userId, String cursor, Integer limit, String search, String type, boolean includeTotal) {
+        
+        if (search != null && !search.trim().isEmpty()) {
+            throw new BadRequestException("Search belum didukung pada mode cursor, gunakan parameter page");
+        }
+        if (limit == null || limit < 1) {
+            throw new BadRequestException("Limit minimal 1");
+        }
+        
+        Transaction.TransactionType transactionType = parseTypeFilter(type);
+        
+        // Ambil satu baris lebih untuk mengetahui apakah masih ada halaman berikutnya
+        Pageable window = PageRequest.of(0, limit + 1);
+        List<Transaction> rows;
+        if (cursor == null || cursor.trim().isEmpty()) {
+            rows = transactionRepository.findFirstPageByUserId(userId, transactionType, window);
+        } else {
+            CursorUtil.Position after = CursorUtil.decode(cursor);
+            rows = transactionRepository.findPageByUserIdAfter(userId, transactionType, after.date(), after.id(), window);
+        }
+        
+        boolean hasMore = rows.size() > limit;
+        List<Transaction> pageRows = hasMore ? rows.subList(0, limit) : rows;
+        
+        List<TransactionResponse> data = pageRows.stream()
+                .map(transactionMapper::toResponse)
+                .collect(Collectors.toList());
+        
+        String nextCursor = null;
+        if (hasMore) {
+            Transaction last = pageRows.get(pageRows.size() - 1);
+            nextCursor = CursorUtil.encode(last.getDate(), last.getId());
+        }
+        
+        // Total dari ledger (jumlah tx_count), bukan COUNT(*) ke tabel transactions
+        Long total = includeTotal ? ledgerAggregateRepository.countTransactions(userId, transactionType) : null;
+        
         PagedResponse.PaginationInfo pagination = PagedResponse.PaginationInfo.builder()
-                .total(transactionPage.getTotalElements())
+                .total(total)
+                .limit(limit)
+                .nextCursor(nextCursor)
+                .build();
+        
+        return PagedResponse.<TransactionResponse>builder()
+                .data(data)
+                .pagination(pagination)
+                .build();
+    }
+    
+    private Transaction.TransactionType parseTypeFilter(String type) {
+        if (type == null || type.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return Transaction.TransactionType.valueOf(type.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Type harus 'income' atau 'expense'");
+        }
+    }
+    
+    // Halaman id diambil langsung dari index dengan LIMIT/OFFSET (sudah terurut relevansi) dan setiap baris
+    // membawa total dari COUNT(*) OVER(), jadi MATCH hanya dijalankan sekali per halaman dan kata kunci yang
+    // cocok dengan banyak transaksi tidak memuat seluruh riwayat user
+    private PagedResponse<TransactionResponse> searchByFullText(
+            Integer userId, Integer page, Integer limit, String search, String booleanQuery,
+            Transaction.TransactionType transactionType) {
+        
+        String type = transactionType != null ? transactionType.name() : null;
+        List<Integer> categoryIds = categoryLookupService.findIdsByNameContaining(search);
+        int offset = Math.max(page - 1, 0) * limit;
+        List<SearchHit> hits = findSearchHits(userId, booleanQuery, categoryIds, type, limit, offset);
+        if (hits.isEmpty() && offset > 0) {
+            // Halaman di luar jangkauan tidak membawa total, ambil dari satu baris halaman pertama
+            hits = findSearchHits(userId, booleanQuery, categoryIds, type, 1, 0);
+            return toPagedResponse(new ArrayList<>(), hits.isEmpty() ? 0 : hits.get(0).getTotal(), page, limit);
+        }
+        long total = hits.isEmpty() ? 0 : hits.get(0).getTotal();
+        List<Integer> pageIds = hits.stream().map(SearchHit::getId).collect(Collectors.toList());
+        
+        List<TransactionResponse> data = new ArrayList<>(pageIds.size());
+        if (!pageIds.isEmpty()) {
+            Map<Integer, Transaction> byId = transactionRepository.findAllByIdWithRelations(pageIds).stream()
+                    .collect(Collectors.toMap(Transaction::getId, Function.identity()));
+            for (Integer id : pageIds) {
+                Transaction transaction = byId.get(id);
+                if (transaction != null) {
+                    data.add(transactionMapper.toResponse(transaction));
+                }
+            }
+        }
+        
+        return toPagedResponse(data, total, page, limit);
+    }
+    
+    private List<SearchHit> findSearchHits(
+            Integer userId, String booleanQuery, List<Integer> categoryIds, String type, int limit, int offset) {
+        if (categoryIds.isEmpty()) {
+            return transactionRepository.searchIds(userId, booleanQuery, type, limit, offset);
+        }
+        return transactionRepository.searchIdsWithCategories(userId, booleanQuery, categoryIds, type, limit, offset);
+    }
+    
+    private PagedResponse<TransactionResponse> toPagedResponse(
+            List<TransactionResponse> data, long total, Integer page, Integer limit) {
+        PagedResponse.PaginationInfo pagination = PagedResponse.PaginationInfo.builder()
+                .total(total)
                 .page(page)
                 .limit(limit)
-                .totalPages((int) Math.ceil((double) transactionPage.getTotalElements() / limit))
+                .totalPages((int) Math.ceil((double) total / limit))
                 .build();
         
         return PagedResponse.<TransactionResponse>builder()
@@ -96,18 +223,23 @@ public class TransactionServiceImpl implements TransactionService {
         return transactionMapper.toResponse(transaction);
     }
     
+    // Lock per user diambil sebelum transaksi database dibuka (lihat UserWriteLockService), jadi method tulis di
+    // bawah ini tidak boleh menyentuh database sebelum executeLocked: dengan open-in-view, koneksi yang sudah
+    // dipakai di request ditahan sampai request selesai, termasuk selama menunggu lock
     @Override
-    @Transactional
     public TransactionResponse create(Integer userId, CreateTransactionRequest request) {
+        SavedTransaction saved = userWriteLockService.executeLocked(userId, () -> applyCreate(userId, request));
+        updateGoalsFromIncome(userId, saved);
+        return saved.response();
+    }
+    
+    private SavedTransaction applyCreate(Integer userId, CreateTransactionRequest request) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException("User tidak ditemukan"));
         
-        Category category = categoryRepository.findById(request.getCategoryId())
+        Category category = categoryLookupService.findById(request.getCategoryId())
                 .orElseThrow(() -> new NotFoundException("Category tidak ditemukan"));
         
-        // Validasi expense tidak melebihi income bulan berjalan
-        validateExpenseLimit(userId, request.getTransactionType(), request.getAmount(), null);
-        
         Transaction transaction = Transaction.builder()
                 .type(request.getTransactionType())
                 .amount(request.getAmount())
@@ -117,39 +249,39 @@ public class TransactionServiceImpl implements TransactionService {
                 .category(category)
                 .build();
         
-        transaction = transactionRepository.save(transaction);
+        // Validasi expense tidak melebihi income bulan transaksi (atomik di monthly_balances)
+        monthlyBalanceService.record(transaction);
         
-        // Auto-update financial goals if this is an income transaction
-        if (transaction.getType() == Transaction.TransactionType.INCOME) {
-            try {
-                BigDecimal incomeAmount = new BigDecimal(transaction.getAmount());
-                financialGoalService.autoUpdateFromIncome(userId, incomeAmount);
-            } catch (Exception e) {
-                // Log error but don't fail transaction creation
-                // Financial goal update is optional
-            }
-        }
+        transaction = transactionRepository.save(transaction);
+        ledgerService.record(transaction);
         
-        return transactionMapper.toResponse(transaction);
+        return SavedTransaction.of(transaction, transactionMapper.toResponse(transaction));
     }
     
     @Override
-    @Transactional
     public TransactionResponse update(Integer userId, Integer id, UpdateTransactionRequest request) {
-        Transaction transaction = transactionRepository.findById(id)
+        SavedTransaction saved = userWriteLockService.executeLocked(userId, () -> applyUpdate(userId, id, request));
+        updateGoalsFromIncome(userId, saved);
+        return saved.response();
+    }
+    
+    // Dipanggil di bawah lock per user: update bersamaan pada transaksi yang sama tidak membalik nilai basi
+    private SavedTransaction applyUpdate(Integer userId, Integer id, UpdateTransactionRequest request) {
+        Transaction transaction = transactionRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new NotFoundException("Transaksi Tidak ditemukan"));
         
         if (!transaction.getUser().getId().equals(userId)) {
             throw new ForbiddenException("Kamu tidak bisa Akses transaksi ini");
         }
         
-        // Validasi expense tidak melebihi income bulan berjalan
-        Transaction.TransactionType type = request.getTransactionType() != null 
-            ? request.getTransactionType() 
-            : transaction.getType();
-        String amount = request.getAmount() != null ? request.getAmount() : transaction.getAmount();
-        
-        validateExpenseLimit(userId, type, amount, id);
+        // Snapshot nilai lama untuk membalik agregat ledger
+        Transaction previous = Transaction.builder()
+                .type(transaction.getType())
+                .amount(transaction.getAmount())
+                .date(transaction.getDate())
+                .user(transaction.getUser())
+                .category(transaction.getCategory())
+                .build();
         
         if (request.getType() != null) {
             transaction.setType(request.getTransactionType());
@@ -164,32 +296,48 @@ public class TransactionServiceImpl implements TransactionService {
             transaction.setNote(request.getNote());
         }
         if (request.getCategoryId() != null) {
-            Category category = categoryRepository.findById(request.getCategoryId())
+            Category category = categoryLookupService.findById(request.getCategoryId())
                     .orElseThrow(() -> new NotFoundException("Category tidak ditemukan"));
             transaction.setCategory(category);
         }
         
-        transaction = transactionRepository.save(transaction);
+        // Nilai lama diganti nilai baru; ditolak jika hasilnya membuat expense melebihi income bulan transaksi
+        monthlyBalanceService.replace(previous, transaction);
         
-        // Auto-update financial goals if this is an income transaction
-        if (transaction.getType() == Transaction.TransactionType.INCOME) {
-            try {
-                BigDecimal incomeAmount = new BigDecimal(transaction.getAmount());
-                financialGoalService.autoUpdateFromIncome(transaction.getUser().getId(), incomeAmount);
-            } catch (Exception e) {
-                // Log error but don't fail transaction update
-            }
-        }
+        transaction = transactionRepository.save(transaction);
+        ledgerService.reverse(previous);
+        ledgerService.record(transaction);
         
-        return transactionMapper.toResponse(transaction);
+        return SavedTransaction.of(transaction, transactionMapper.toResponse(transaction));
     }
     
+    // Lock memakai id user yang login, karena pemilik transaksi baru bisa diketahui lewat query
     @Override
-    @Transactional
-    public void delete(Integer id) {
-        Transaction transaction = transactionRepository.findById(id)
-                .orElseThrow(() -> new NotFoundException("Transaksi Tidak ditemukan"));
-        transactionRepository.delete(transaction);
+    public void delete(Integer userId, Integer id) {
+        userWriteLockService.executeLocked(userId, () -> {
+            Transaction transaction = transactionRepository.findByIdForUpdate(id)
+                    .orElseThrow(() -> new NotFoundException("Transaksi Tidak ditemukan"));
+            if (!transaction.getUser().getId().equals(userId)) {
+                throw new ForbiddenException("Kamu tidak bisa Akses transaksi ini");
+            }
+            monthlyBalanceService.reverse(transaction);
+            ledgerService.reverse(transaction);
+            transactionRepository.delete(transaction);
+            return null;
+        });
+    }
+    
+    // Dijalankan setelah commit dalam transaksinya sendiri, jadi kegagalan di sini tidak ikut me-rollback
+    // transaksi yang sudah tersimpan
+    private void updateGoalsFromIncome(Integer userId, SavedTransaction saved) {
+        if (saved.income() == null) {
+            return;
+        }
+        try {
+            financialGoalService.autoUpdateFromIncome(userId, saved.income());
+        } catch (Exception e) {
+            // Financial goal update is optional
+        }
     }
     
     @Override
@@ -198,23 +346,14 @@ public class TransactionServiceImpl implements TransactionService {
         LocalDate startOfMonth = now.withDayOfMonth(1);
         LocalDate endOfMonth = now.withDayOfMonth(now.lengthOfMonth());
         
-        List<Transaction> transactions = transactionRepository.findByUserIdAndDateBetween(
+        List<TypeTotal> totals = ledgerAggregateRepository.sumByTypeBetween(
                 userId, startOfMonth, endOfMonth);
         
-        int totalIncome = 0;
-        int totalExpense = 0;
+        long totalIncome = totalOf(totals, Transaction.TransactionType.INCOME).longValue();
+        long totalExpense = totalOf(totals, Transaction.TransactionType.EXPENSE).longValue();
         
-        for (Transaction tx : transactions) {
-            int amount = Integer.parseInt(tx.getAmount());
-            if (tx.getType() == Transaction.TransactionType.INCOME) {
-                totalIncome += amount;
-            } else {
-                totalExpense += amount;
-            }
-        }
-        
-        int balance = totalIncome - totalExpense;
-        int saving = (int) Math.floor(Math.max(0, totalIncome - totalExpense) * 0.3 + totalIncome * 0.05);
+        long balance = totalIncome - totalExpense;
+        long saving = (long) Math.floor(Math.max(0, totalIncome - totalExpense) * 0.3 + totalIncome * 0.05);
         
         return MonthlyStatsResponse.builder()
                 .income(totalIncome)
@@ -231,7 +370,7 @@ public class TransactionServiceImpl implements TransactionService {
         LocalDate startOfMonth = yearMonth.atDay(1);
         LocalDate endOfMonth = yearMonth.atEndOfMonth();
         
-        List<Transaction> transactions = transactionRepository.findByUserIdAndDateBetween(
+        List<DailyTypeTotal> dailyTotals = ledgerAggregateRepository.sumByDayAndTypeBetween(
                 userId, startOfMonth, endOfMonth);
         
         int daysInMonth = yearMonth.lengthOfMonth();
@@ -244,18 +383,18 @@ public class TransactionServiceImpl implements TransactionService {
             LocalDate date = yearMonth.atDay(day);
             chartData.add(ChartDataResponse.builder()
                     .date(date.format(formatter))
-                    .income(0)
-                    .expense(0)
+                    .income(0L)
+                    .expense(0L)
                     .build());
         }
         
-        // Fill with transaction data
-        for (Transaction tx : transactions) {
-            int day = tx.getDate().getDayOfMonth();
+        // Fill with aggregated ledger data
+        for (DailyTypeTotal daily : dailyTotals) {
+            int day = daily.getEntryDate().getDayOfMonth();
             if (day > 0 && day <= daysInMonth) {
                 ChartDataResponse dayData = chartData.get(day - 1);
-                int amount = Integer.parseInt(tx.getAmount());
-                if (tx.getType() == Transaction.TransactionType.INCOME) {
+                long amount = daily.getTotal().longValue();
+                if (daily.getType() == Transaction.TransactionType.INCOME) {
                     dayData.setIncome(dayData.getIncome() + amount);
                 } else {
                     dayData.setExpense(dayData.getExpense() + amount);
@@ -279,52 +418,33 @@ public class TransactionServiceImpl implements TransactionService {
     @Override
     public TodayExpenseStatsResponse getTodayExpenseStats(Integer userId) {
         LocalDate today = LocalDate.now();
-        List<Transaction> transactions = transactionRepository.findByUserIdAndTypeAndDateBetween(
-                userId, Transaction.TransactionType.EXPENSE, today, today);
-        
-        int total = transactions.stream()
-                .mapToInt(tx -> Integer.parseInt(tx.getAmount()))
-                .sum();
+        TypeTotal expense = transactionRepository.sumByTypeBetween(userId, today, today).stream()
+                .filter(total -> total.getType() == Transaction.TransactionType.EXPENSE)
+                .findFirst()
+                .orElse(null);
         
         return TodayExpenseStatsResponse.builder()
-                .totalExpense(total)
-                .count(transactions.size())
+                .totalExpense(expense != null ? expense.getTotal().longValue() : 0L)
+                .count(expense != null ? expense.getTxCount().intValue() : 0)
                 .build();
     }
     
-    private void validateExpenseLimit(Integer userId, Transaction.TransactionType type, 
-                                     String amountStr, Integer excludeTransactionId) {
-        if (type != Transaction.TransactionType.EXPENSE) {
-            return;
-        }
-        
-        LocalDate now = LocalDate.now();
-        LocalDate startOfMonth = now.withDayOfMonth(1);
-        LocalDate endOfMonth = now.withDayOfMonth(now.lengthOfMonth());
-        
-        List<Transaction> transactions = transactionRepository.findByUserIdAndDateBetween(
-                userId, startOfMonth, endOfMonth);
-        
-        int totalIncome = 0;
-        int totalExpense = 0;
-        
-        for (Transaction tx : transactions) {
-            if (excludeTransactionId != null && tx.getId().equals(excludeTransactionId)) {
-                continue;
-            }
-            int amount = Integer.parseInt(tx.getAmount());
-            if (tx.getType() == Transaction.TransactionType.INCOME) {
-                totalIncome += amount;
-            } else {
-                totalExpense += amount;
-            }
-        }
-        
-        int amountToAdd = Integer.parseInt(amountStr);
-        
-        if (totalIncome < totalExpense + amountToAdd) {
-            throw new BadRequestException("Income Bulan ini tidak mencukupi");
+    private BigDecimal totalOf(List<TypeTotal> totals, Transaction.TransactionType type) {
+        return totals.stream()
+                .filter(total -> total.getType() == type)
+                .map(TypeTotal::getTotal)
+                .findFirst()
+                .orElse(BigDecimal.ZERO);
+    }
+    
+    // Response di-map di dalam transaksi (user/category masih bisa di-load); income dipakai untuk financial goal
+    private record SavedTransaction(TransactionResponse response, BigDecimal income) {
+        
+        static SavedTransaction of(Transaction transaction, TransactionResponse response) {
+            BigDecimal income = transaction.getType() == Transaction.TransactionType.INCOME
+                    ? transaction.getAmount()
+                    : null;
+            return new SavedTransaction(response, income);
         }
     }
 }
-
@@ -0,0 +1,62 @@
+package com.budgettracker.service.impl;
+
+import com.budgettracker.exception.ConflictException;
+import com.budgettracker.service.UserWriteLockService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+// Menyerialkan penulisan transaksi milik user yang sama di node ini; user berbeda hampir selalu jatuh ke
+// stripe berbeda sehingga tetap paralel. Lock diambil sebelum transaksi database dibuka, jadi request yang
+// antre menunggu tanpa memegang koneksi pool (dan tidak saling deadlock di upsert ledger). Kebenaran lintas
+// node tetap dijaga UPDATE bersyarat di MonthlyBalanceService; lock ini hanya mengurangi kontensi.
+@Service
+public class UserWriteLockServiceImpl implements UserWriteLockService {
+    
+    private final TransactionTemplate transactionTemplate;
+    private final ReentrantLock[] stripes;
+    private final long timeoutMs;
+    
+    public UserWriteLockServiceImpl(
+            TransactionTemplate transactionTemplate,
+            @Value("${transaction.lock.stripes:1024}") int stripes,
+            @Value("${transaction.lock.timeout-ms:10000}") long timeoutMs) {
+        this.transactionTemplate = transactionTemplate;
+        this.stripes = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.timeoutMs = timeoutMs;
+    }
+    
+    // Transaksi sudah commit/rollback sebelum lock dilepas, jadi penulisan berikutnya selalu membaca hasil yang
+    // sudah di-commit
+    @Override
+    public <T> T executeLocked(Integer userId, Supplier<T> write) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("executeLocked harus dipanggil di luar transaksi");
+        }
+        ReentrantLock lock = stripes[Math.floorMod(userId, stripes.length)];
+        boolean acquired;
+        try {
+            acquired = lock.tryLock(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            throw new ConflictException("Transaksi lain untuk akun ini sedang diproses, silakan coba lagi");
+        }
+        
+        try {
+            return transactionTemplate.execute(status -> write.get());
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.budgettracker.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+// Pembaca CSV sederhana (RFC 4180): field ber-quote boleh berisi delimiter, newline dan "" untuk tanda kutip.
+// Dibaca per record supaya file besar tidak perlu dimuat sekaligus.
+public class CsvReader {
+
+    private final Reader reader;
+    private final char delimiter;
+    private int pushedBack = -2;
+
+    public CsvReader(Reader reader, char delimiter) {
+        this.reader = reader;
+        this.delimiter = delimiter;
+    }
+
+    // Export Excel dengan locale Indonesia memakai ';' sebagai pemisah
+    public static char detectDelimiter(String headerLine) {
+        int commas = headerLine.length() - headerLine.replace(",", "").length();
+        int semicolons = headerLine.length() - headerLine.replace(";", "").length();
+        return semicolons > commas ? ';' : ',';
+    }
+
+    // null jika sudah akhir file
+    public List<String> readRecord() throws IOException {
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean fieldStarted = false;
+
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Tanda kutip tidak ditutup");
+                }
+                if (c == '"') {
+                    int next = read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == -1 || c == '\n' || c == '\r') {
+                if (c == '\r') {
+                    int next = read();
+                    if (next != '\n') {
+                        unread(next);
+                    }
+                }
+                fields.add(field.toString());
+                return fields;
+            } else if (c == delimiter) {
+                fields.add(field.toString());
+                field.setLength(0);
+                fieldStarted = false;
+            } else if (c == '"' && !fieldStarted) {
+                quoted = true;
+                fieldStarted = true;
+            } else {
+                field.append((char) c);
+                fieldStarted = true;
+            }
+            c = read();
+        }
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != -2) {
+            int c = pushedBack;
+            pushedBack = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private void unread(int c) {
+        pushedBack = c;
+    }
+}
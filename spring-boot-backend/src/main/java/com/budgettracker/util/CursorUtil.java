@@ -0,0 +1,31 @@
+package com.budgettracker.util;
+
+import com.budgettracker.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+public class CursorUtil {
+    
+    public record Position(LocalDate date, Integer id) {
+    }
+    
+    // Cursor opaque untuk keyset pagination transaksi: base64url dari "yyyy-MM-dd|id" baris terakhir
+    public static String encode(LocalDate date, Integer id) {
+        String raw = date + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    public static Position decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new Position(
+                    LocalDate.parse(raw.substring(0, separator)),
+                    Integer.valueOf(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Cursor tidak valid");
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.budgettracker.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class FileTransferUtil {
+    
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    
+    // Connector NIO Tomcat mendukung sendfile: file dikirim kernel langsung ke socket tanpa lewat heap.
+    // Tanpa dukungan itu (mis. TLS di Tomcat) file di-copy biasa ke output stream.
+    public static void send(HttpServletRequest request, HttpServletResponse response, Path path, String contentType)
+            throws IOException {
+        long size = Files.size(path);
+        response.setContentType(contentType);
+        response.setContentLengthLong(size);
+        if ("HEAD".equals(request.getMethod())) {
+            return;
+        }
+        
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, path.toRealPath().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, size);
+            return;
+        }
+        Files.copy(path, response.getOutputStream());
+    }
+}
@@ -1,16 +1,25 @@
 package com.budgettracker.util;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 @Component
@@ -22,8 +31,48 @@ public class JwtUtil {
     @Value("${jwt.expiration}")
     private Long expiration;
     
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    @Value("${jwt.cache.max-size:10000}")
+    private long cacheMaxSize;
+    
+    @Value("${jwt.cache.ttl-seconds:300}")
+    private long cacheTtlSeconds;
+    
+    private SecretKey signingKey;
+    private JwtParser parser;
+    
+    // Token yang sudah pernah diverifikasi: sha256(token) -> userId, berlaku sampai exp token (maksimal ttl-seconds)
+    private Cache<String, VerifiedToken> verifiedTokens;
+    
+    private record VerifiedToken(Integer userId, long expiresAtMillis) {
+    }
+    
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+                        long untilExpiry = value.expiresAtMillis() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(
+                                Math.max(0, Math.min(untilExpiry, TimeUnit.SECONDS.toMillis(cacheTtlSeconds))));
+                    }
+                    
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+                    
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
     }
     
     public String generateToken(Integer userId, String email) {
@@ -39,10 +88,32 @@ public class JwtUtil {
                 .subject(claims.get("id").toString())
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
     
+    // Verifikasi signature + expiry dengan satu kali parse; null jika token tidak valid atau kadaluarsa
+    public Integer verifyAndGetUserId(String token) {
+        String cacheKey = hash(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(cacheKey);
+        if (cached != null && cached.expiresAtMillis() > System.currentTimeMillis()) {
+            return cached.userId();
+        }
+        
+        try {
+            Claims claims = getAllClaimsFromToken(token);
+            Date expiresAt = claims.getExpiration();
+            if (expiresAt == null) {
+                return null;
+            }
+            Integer userId = Integer.parseInt(claims.getSubject());
+            verifiedTokens.put(cacheKey, new VerifiedToken(userId, expiresAt.getTime()));
+            return userId;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+    
     public Integer getUserIdFromToken(String token) {
         return Integer.parseInt(getClaimFromToken(token, Claims::getSubject));
     }
@@ -56,30 +127,25 @@ public class JwtUtil {
         return claimsResolver.apply(claims);
     }
     
+    // Parser menolak token kadaluarsa (ExpiredJwtException), jadi tidak perlu cek exp terpisah
     private Claims getAllClaimsFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
     }
     
     public Boolean validateToken(String token) {
-        try {
-            getAllClaimsFromToken(token);
-            return !isTokenExpired(token);
-        } catch (Exception e) {
-            return false;
-        }
-    }
-    
-    private Boolean isTokenExpired(String token) {
-        final Date expiration = getExpirationDateFromToken(token);
-        return expiration.before(new Date());
+        return verifyAndGetUserId(token) != null;
     }
     
     public Date getExpirationDateFromToken(String token) {
         return getClaimFromToken(token, Claims::getExpiration);
     }
+    
+    private String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
-
@@ -0,0 +1,24 @@
+package com.budgettracker.util;
+
+import java.math.BigDecimal;
+
+public class MoneyUtil {
+    
+    // "50000.00" -> "50000", dipakai untuk response API (client masih mem-parse amount sebagai string angka)
+    public static String toPlainString(BigDecimal amount) {
+        if (amount == null) {
+            return null;
+        }
+        if (amount.signum() == 0) {
+            return "0";
+        }
+        return amount.stripTrailingZeros().toPlainString();
+    }
+    
+    public static BigDecimal parse(String amount) {
+        if (amount == null || amount.trim().isEmpty()) {
+            return null;
+        }
+        return new BigDecimal(amount.trim());
+    }
+}
@@ -0,0 +1,30 @@
+package com.budgettracker.util;
+
+// Penghitung statement SQL per thread request; diisi oleh QueryCountInspector selama counter aktif
+public class QueryCounter {
+    
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+    
+    public static void start() {
+        COUNT.set(new int[1]);
+    }
+    
+    public static void increment() {
+        int[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+    }
+    
+    // Jumlah statement sejak start(), atau -1 jika counter tidak aktif di thread ini
+    public static int current() {
+        int[] count = COUNT.get();
+        return count != null ? count[0] : -1;
+    }
+    
+    public static int stop() {
+        int count = current();
+        COUNT.remove();
+        return count;
+    }
+}
@@ -0,0 +1,130 @@
+-- Baseline skema yang sebelumnya dibuat oleh Hibernate ddl-auto.
+-- Idempotent: database lama (sudah ada tabel) tetap menjalankan migrasi ini lewat baseline-version=0.
+
+CREATE TABLE IF NOT EXISTS users (
+    id INT NOT NULL AUTO_INCREMENT,
+    uuid BINARY(16) NOT NULL,
+    name VARCHAR(50) NOT NULL,
+    email VARCHAR(50) NOT NULL,
+    number VARCHAR(50),
+    password VARCHAR(255) NOT NULL,
+    profile_picture VARCHAR(255),
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_users_uuid (uuid),
+    UNIQUE KEY uk_users_email (email)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS categories (
+    id INT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(255) NOT NULL,
+    description TEXT,
+    type ENUM('INCOME', 'EXPENSE') NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS transactions (
+    id INT NOT NULL AUTO_INCREMENT,
+    type ENUM('INCOME', 'EXPENSE') NOT NULL,
+    amount VARCHAR(255) NOT NULL,
+    amount_value DECIMAL(15, 2),
+    date DATE NOT NULL,
+    note TEXT,
+    user_id INT NOT NULL,
+    category_id INT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_transactions_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_transactions_category FOREIGN KEY (category_id) REFERENCES categories (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS budgets (
+    id INT NOT NULL AUTO_INCREMENT,
+    user_id INT NOT NULL,
+    category_id INT,
+    amount DECIMAL(15, 2) NOT NULL,
+    period VARCHAR(20) NOT NULL,
+    period_start DATE NOT NULL,
+    period_end DATE,
+    description TEXT,
+    is_active BIT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_budgets_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_budgets_category FOREIGN KEY (category_id) REFERENCES categories (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS financial_goals (
+    id INT NOT NULL AUTO_INCREMENT,
+    user_id INT NOT NULL,
+    name VARCHAR(100) NOT NULL,
+    description TEXT,
+    target_amount DECIMAL(15, 2) NOT NULL,
+    current_amount DECIMAL(15, 2) NOT NULL,
+    deadline DATE NOT NULL,
+    type ENUM('SAVINGS', 'INVESTMENT', 'PURCHASE', 'DEBT_PAYOFF', 'OTHER') NOT NULL,
+    status ENUM('ACTIVE', 'COMPLETED', 'PAUSED', 'CANCELLED') NOT NULL,
+    icon VARCHAR(50),
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_financial_goals_user FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS monthly_summaries (
+    id INT NOT NULL AUTO_INCREMENT,
+    user_id INT NOT NULL,
+    month VARCHAR(25) NOT NULL,
+    year VARCHAR(4) NOT NULL,
+    total_income VARCHAR(255) NOT NULL,
+    total_expense VARCHAR(255) NOT NULL,
+    balance VARCHAR(255) NOT NULL,
+    total_income_value DECIMAL(15, 2),
+    total_expense_value DECIMAL(15, 2),
+    balance_value DECIMAL(15, 2),
+    ai_summary TEXT,
+    ai_recomendation TEXT,
+    ai_trend_analysis TEXT,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_monthly_summaries_user FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS ledger_aggregates (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    user_id INT NOT NULL,
+    period VARCHAR(7) NOT NULL,
+    entry_date DATE NOT NULL,
+    type ENUM('INCOME', 'EXPENSE') NOT NULL,
+    category_id INT NOT NULL,
+    total_amount DECIMAL(15, 2) NOT NULL,
+    tx_count INT NOT NULL,
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_ledger_user_date_type_category (user_id, entry_date, type, category_id),
+    KEY idx_ledger_user_period (user_id, period)
+) ENGINE = InnoDB;
+
+-- Kolom DECIMAL baru pada database yang dibuat sebelum kolom uang dipindah (lihat MoneyColumnBackfillJob)
+SET @ddl = (SELECT IF(COUNT(*) = 0,
+        'ALTER TABLE transactions ADD COLUMN amount_value DECIMAL(15, 2)',
+        'DO 0')
+    FROM information_schema.columns
+    WHERE table_schema = DATABASE() AND table_name = 'transactions' AND column_name = 'amount_value');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl = (SELECT IF(COUNT(*) = 0,
+        'ALTER TABLE monthly_summaries ADD COLUMN total_income_value DECIMAL(15, 2), ADD COLUMN total_expense_value DECIMAL(15, 2), ADD COLUMN balance_value DECIMAL(15, 2)',
+        'DO 0')
+    FROM information_schema.columns
+    WHERE table_schema = DATABASE() AND table_name = 'monthly_summaries' AND column_name = 'total_income_value');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
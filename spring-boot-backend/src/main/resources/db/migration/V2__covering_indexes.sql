@@ -0,0 +1,69 @@
+-- Index komposit untuk bentuk query yang paling sering dipakai. MySQL tidak punya
+-- CREATE INDEX IF NOT EXISTS, jadi setiap index dicek dulu di information_schema.
+
+-- TransactionRepository (range per user + tanggal, filter type/kategori, SUM amount) dan rebuild ledger
+SET @ddl = (SELECT IF(COUNT(*) = 0,
+        'CREATE INDEX idx_transactions_user_date_type_category_amount ON transactions (user_id, date, type, category_id, amount_value)',
+        'DO 0')
+    FROM information_schema.statistics
+    WHERE table_schema = DATABASE() AND table_name = 'transactions'
+    AND index_name = 'idx_transactions_user_date_type_category_amount');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- Keyset pagination transaksi (urutan date DESC, id DESC). Di index di atas kolom type/category/amount berada
+-- di antara date dan PK, jadi urutan id tidak bisa dibaca dari index itu tanpa filesort
+SET @ddl = (SELECT IF(COUNT(*) = 0,
+        'CREATE INDEX idx_transactions_user_date_id ON transactions (user_id, date, id)',
+        'DO 0')
+    FROM information_schema.statistics
+    WHERE table_schema = DATABASE() AND table_name = 'transactions'
+    AND index_name = 'idx_transactions_user_date_id');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- BudgetRepository.findActiveBudgetsByUserIdAndDate
+SET @ddl = (SELECT IF(COUNT(*) = 0,
+        'CREATE INDEX idx_budgets_user_active_start ON budgets (user_id, is_active, period_start)',
+        'DO 0')
+    FROM information_schema.statistics
+    WHERE table_schema = DATABASE() AND table_name = 'budgets'
+    AND index_name = 'idx_budgets_user_active_start');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- FinancialGoalRepository.findActiveGoalsByUserId (filter status, urut deadline)
+SET @ddl = (SELECT IF(COUNT(*) = 0,
+        'CREATE INDEX idx_goals_user_status_deadline ON financial_goals (user_id, status, deadline)',
+        'DO 0')
+    FROM information_schema.statistics
+    WHERE table_schema = DATABASE() AND table_name = 'financial_goals'
+    AND index_name = 'idx_goals_user_status_deadline');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- MonthlySummaryRepository.countByUserIdAndCreatedAtBetween (limit generate harian)
+SET @ddl = (SELECT IF(COUNT(*) = 0,
+        'CREATE INDEX idx_summaries_user_created ON monthly_summaries (user_id, created_at)',
+        'DO 0')
+    FROM information_schema.statistics
+    WHERE table_schema = DATABASE() AND table_name = 'monthly_summaries'
+    AND index_name = 'idx_summaries_user_created');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- Pencarian transaksi (TransactionSearchIndex)
+SET @ddl = (SELECT IF(COUNT(*) = 0,
+        'ALTER TABLE transactions ADD FULLTEXT INDEX ft_transactions_note (note) WITH PARSER ngram',
+        'DO 0')
+    FROM information_schema.statistics
+    WHERE table_schema = DATABASE() AND table_name = 'transactions'
+    AND index_name = 'ft_transactions_note');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
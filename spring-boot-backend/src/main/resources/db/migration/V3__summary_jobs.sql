@@ -0,0 +1,16 @@
+-- Antrian job generate summary AI (SummaryJobWorker)
+CREATE TABLE IF NOT EXISTS summary_jobs (
+    id VARCHAR(36) NOT NULL,
+    user_id INT NOT NULL,
+    period VARCHAR(7) NOT NULL,
+    status ENUM('PENDING', 'RUNNING', 'DONE', 'FAILED') NOT NULL,
+    dedupe_key VARCHAR(32),
+    result_json TEXT,
+    error TEXT,
+    created_at DATETIME(6) NOT NULL,
+    started_at DATETIME(6),
+    finished_at DATETIME(6),
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_summary_jobs_dedupe (dedupe_key),
+    KEY idx_summary_jobs_status_created (status, created_at)
+) ENGINE = InnoDB;
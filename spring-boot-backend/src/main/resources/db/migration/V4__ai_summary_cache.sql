@@ -0,0 +1,9 @@
+-- Level 2 cache hasil AI summary, dikunci dengan SHA-256 dari request body ke OpenRouter
+CREATE TABLE IF NOT EXISTS ai_summary_cache (
+    payload_hash CHAR(64) NOT NULL,
+    model VARCHAR(100),
+    response_json TEXT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (payload_hash),
+    KEY idx_ai_summary_cache_created (created_at)
+) ENGINE = InnoDB;
@@ -0,0 +1,10 @@
+-- Versi data referensi yang di-cache di memori tiap node; dinaikkan saat data berubah,
+-- node lain membandingkan versinya secara berkala lalu membuang cache lokal
+CREATE TABLE IF NOT EXISTS cache_versions (
+    name VARCHAR(50) NOT NULL,
+    version BIGINT NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (name)
+) ENGINE = InnoDB;
+
+INSERT IGNORE INTO cache_versions (name, version, updated_at) VALUES ('categories', 1, NOW(6));
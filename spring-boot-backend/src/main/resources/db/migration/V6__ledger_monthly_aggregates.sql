@@ -0,0 +1,18 @@
+-- Rollup bulanan dari ledger_aggregates untuk analytics rentang panjang (tren 12 bulan, year-over-year).
+-- Dijaga LedgerServiceImpl di transaksi yang sama dengan ledger harian.
+CREATE TABLE IF NOT EXISTS ledger_monthly_aggregates (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    user_id INT NOT NULL,
+    period VARCHAR(7) NOT NULL,
+    type ENUM('INCOME', 'EXPENSE') NOT NULL,
+    category_id INT NOT NULL,
+    total_amount DECIMAL(17, 2) NOT NULL,
+    tx_count INT NOT NULL,
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_ledger_monthly_user_period_type_category (user_id, period, type, category_id)
+) ENGINE = InnoDB;
+
+INSERT IGNORE INTO ledger_monthly_aggregates (user_id, period, type, category_id, total_amount, tx_count)
+SELECT user_id, period, type, category_id, SUM(total_amount), SUM(tx_count)
+FROM ledger_aggregates
+GROUP BY user_id, period, type, category_id;
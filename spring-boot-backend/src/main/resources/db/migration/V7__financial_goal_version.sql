@@ -0,0 +1,11 @@
+-- Kolom version untuk optimistic locking FinancialGoal (@Version). Dicek dulu di information_schema
+-- karena MySQL tidak punya ADD COLUMN IF NOT EXISTS.
+SET @ddl = (SELECT IF(COUNT(*) = 0,
+        'ALTER TABLE financial_goals ADD COLUMN version BIGINT NOT NULL DEFAULT 0',
+        'DO 0')
+    FROM information_schema.columns
+    WHERE table_schema = DATABASE() AND table_name = 'financial_goals'
+    AND column_name = 'version');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
@@ -0,0 +1,19 @@
+-- Saldo per user per bulan untuk validasi batas pengeluaran. Expense hanya ditambahkan lewat
+-- UPDATE bersyarat (income >= expense + amount), jadi dua request bersamaan tidak bisa sama-sama lolos.
+CREATE TABLE IF NOT EXISTS monthly_balances (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    user_id INT NOT NULL,
+    period VARCHAR(7) NOT NULL,
+    income DECIMAL(17, 2) NOT NULL,
+    expense DECIMAL(17, 2) NOT NULL,
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_monthly_balances_user_period (user_id, period)
+) ENGINE = InnoDB;
+
+INSERT IGNORE INTO monthly_balances (user_id, period, income, expense)
+SELECT user_id,
+       period,
+       SUM(CASE WHEN type = 'INCOME' THEN total_amount ELSE 0 END),
+       SUM(CASE WHEN type = 'EXPENSE' THEN total_amount ELSE 0 END)
+FROM ledger_monthly_aggregates
+GROUP BY user_id, period;